@@ -10,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 
+import com.example.auth_service.model.User;
 import com.example.auth_service.model.UserProfile;
 import com.example.auth_service.service.UserProfileService;
 import com.example.auth_service.service.UserService;
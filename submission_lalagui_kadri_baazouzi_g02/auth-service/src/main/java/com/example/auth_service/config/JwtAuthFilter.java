@@ -3,16 +3,17 @@ package com.example.auth_service.config;
 // import com.example.auth_service.model.User;
 import com.example.auth_service.service.UserService;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -27,8 +28,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final UserService userService;
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtUtil jwtUtil; // Holds the shared parser
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
@@ -39,21 +39,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
             try {
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(secret.getBytes())
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
+                Claims claims = jwtUtil.parseClaims(token);
                 username = claims.getSubject();
-                @SuppressWarnings("unchecked")
-                List<String> roles = (List<String>) claims.get("roles", List.class);
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userService.loadUserByUsername(username);
-                    // Check roles from token match userDetails (optional, for extra security)
+                    UserDetails userDetails;
+                    Integer tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class);
+                    if (tokenVersion != null && tokenVersion == userService.getTokenVersion(username)) {
+                        // Fast path: roles and password unchanged since issue, so the verified roles claim is current
+                        @SuppressWarnings("unchecked")
+                        List<String> roles = (List<String>) claims.get("roles", List.class);
+                        List<GrantedAuthority> authorities = roles.stream()
+                                .map(SimpleGrantedAuthority::new)
+                                .collect(Collectors.toList());
+                        userDetails = new User(username, "", authorities); // No password: the token is the credential
+                    } else {
+                        // Roles may be stale (or the token predates versioning): use the current user
+                        userDetails = userService.loadUserByUsername(username);
+                    }
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null,
-                            roles.stream().map(org.springframework.security.core.authority.SimpleGrantedAuthority::new).collect(Collectors.toList())
-                    );
+                            userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
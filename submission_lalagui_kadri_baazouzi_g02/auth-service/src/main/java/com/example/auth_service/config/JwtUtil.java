@@ -3,9 +3,13 @@ package com.example.auth_service.config;
 // Keep this import only if generateToken(User user) method is kept and used
 import com.example.auth_service.model.User;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j; // Add logging
@@ -19,17 +23,40 @@ import java.util.Map; // Import Map
 @Slf4j // Add logging
 public class JwtUtil {
 
+    // Claim holding UserService.getTokenVersion at issue time; JwtAuthFilter trusts the roles claim while it matches
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expirationMs}")
     private int expirationMs;
 
-    private Key getSigningKey() {
+    private Key signingKey;
+    private JwtParser parser; // Thread-safe, shared by all requests
+
+    @PostConstruct
+    void init() {
         // Consider logging a warning if the key is too short for the algorithm
         byte[] keyBytes = this.secret.getBytes();
         // HS512 ideally needs a 512-bit (64 byte) key. Keys.hmacShaKeyFor handles varying lengths.
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    private Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verifies signature and expiry and returns the claims.
+     *
+     * @throws JwtException if the token is expired, malformed or its signature is invalid
+     */
+    public Claims parseClaims(String token) throws JwtException {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
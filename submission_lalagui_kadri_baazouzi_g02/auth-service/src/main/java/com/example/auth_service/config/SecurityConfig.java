@@ -18,6 +18,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 
 
 @Configuration
@@ -41,18 +42,22 @@ public class SecurityConfig {
     }
 
 
-    // Add a chain specifically for signup
+    // Add a chain specifically for signup and token refresh
     @Bean
     @Order(1) // Lower number means higher priority
     public SecurityFilterChain signupFilterChain(HttpSecurity http) throws Exception {
         http
-            .securityMatcher(new AntPathRequestMatcher("/auth/signup", "POST"))
+            .securityMatcher(new OrRequestMatcher(
+                new AntPathRequestMatcher("/auth/signup", "POST"),
+                new AntPathRequestMatcher("/auth/refresh", "POST")))
             .csrf(AbstractHttpConfigurer::disable)
             .cors(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 // Permit POST requests to /auth/signup for everyone
                 .requestMatchers(HttpMethod.POST, "/auth/signup").permitAll()
+                // The refresh token in the body is the credential (RefreshTokenService)
+                .requestMatchers(HttpMethod.POST, "/auth/refresh").permitAll()
             );
             // No authentication needed for signup itself
         return http.build();
@@ -5,6 +5,7 @@ import com.example.auth_service.model.User; // Import your User model
 import com.example.auth_service.model.UserProfile; // Import UserProfile model
 import com.example.auth_service.service.UserService; // Import UserService
 import com.example.auth_service.service.UserProfileService; // Import UserProfileService
+import com.example.auth_service.service.RefreshTokenService;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,7 @@ import java.util.Map;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/auth")
@@ -30,10 +32,14 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserService userService; // Inject UserService
     private final UserProfileService userProfileService; // Inject UserProfileService
+    private final RefreshTokenService refreshTokenService; // Token renewal without BCrypt
 
     // DTO for signup request
     public record SignupRequest(String username, String password) {}
 
+    // DTO for refresh request
+    public record RefreshRequest(String refreshToken) {}
+
     @PostMapping("/signup")
     public ResponseEntity<?> signupUser(@RequestBody SignupRequest signupRequest) {
         log.info("Signup request received for username: {}", signupRequest.username());
@@ -72,6 +78,7 @@ public class AuthController {
 
         Object principal = authentication.getPrincipal();
         String token = null;
+        String refreshToken = null;
 
         try {
             if (principal instanceof UserDetails userDetails) { // Use pattern variable binding
@@ -86,7 +93,8 @@ public class AuthController {
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("User data inconsistency.");
                 }
                 // --- FIX: Pass the User object to generateToken --- 
-                token = jwtUtil.generateToken(user);
+                token = generateAccessToken(user);
+                refreshToken = refreshTokenService.issue(username);
                 log.info("Token generated successfully for user: {}", username);
 
             } else {
@@ -100,6 +108,7 @@ public class AuthController {
             // Return the generated token
             Map<String, String> response = new HashMap<>();
             response.put("token", token);
+            response.put("refreshToken", refreshToken);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -108,6 +117,45 @@ public class AuthController {
         }
     }
 
+    /**
+     * Renews an access token with a refresh token from /auth/token, without re-checking the password.
+     * The refresh token is single-use: the response carries its replacement.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshRequest refreshRequest) {
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(refreshRequest.refreshToken());
+        if (rotation.isEmpty()) {
+            log.warn("Refresh rejected: unknown, expired or reused refresh token.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token.");
+        }
+
+        String username = rotation.get().username();
+        User user = userService.findByUsername(username); // In-memory lookup, for the current roles
+        if (user == null) {
+            log.warn("Refresh rejected: user '{}' no longer exists.", username);
+            refreshTokenService.revokeAll(username);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token.");
+        }
+
+        String token = generateAccessToken(user);
+        log.debug("Token refreshed for user: {}", username);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("token", token);
+        response.put("refreshToken", rotation.get().refreshToken());
+        return ResponseEntity.ok(response);
+    }
+
+    // Roles plus the token version, so JwtAuthFilter can trust the roles claim without a user lookup.
+    // The version is read first: a concurrent role change then yields a mismatch, never stale roles with a current version
+    private String generateAccessToken(User user) {
+        int tokenVersion = userService.getTokenVersion(user.getUsername());
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", user.getRoles());
+        claims.put(JwtUtil.TOKEN_VERSION_CLAIM, tokenVersion);
+        return jwtUtil.generateTokenFromDetails(user.getUsername(), claims);
+    }
+
     /**
      * Get the current user's profile information
      * This is a convenient endpoint for clients to fetch user data without using admin endpoints
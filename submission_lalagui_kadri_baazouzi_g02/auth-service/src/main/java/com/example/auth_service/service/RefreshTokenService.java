@@ -0,0 +1,131 @@
+package com.example.auth_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opaque, single-use refresh tokens, so access tokens can be renewed without re-checking the password (BCrypt).
+ * <p>
+ * Tokens are 256 random bits and only their SHA-256 is stored. A lookup hashes the presented token and does one
+ * map lookup, so it costs the same for any input and leaks nothing useful through timing: matching a stored
+ * hash needs its preimage. Each use rotates the token; presenting an already-rotated token revokes every token
+ * descended from the same login, as it means the token was copied.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int PURGE_EVERY = 1024; // Issues between sweeps of expired tokens
+
+    private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>(); // SHA-256 of token -> token data
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final AtomicInteger issuedSincePurge = new AtomicInteger();
+    private final long validityMillis;
+
+    public RefreshTokenService(@Value("${jwt.refresh-expiration:14d}") Duration validity) {
+        this.validityMillis = validity.toMillis();
+    }
+
+    // Token data; used is set on rotation and kept until expiry to detect reuse
+    private record RefreshToken(String username, String family, long expiresAt, boolean used) {
+        RefreshToken markUsed() {
+            return new RefreshToken(username, family, expiresAt, true);
+        }
+    }
+
+    /**
+     * Issues a refresh token after a real login, starting a new rotation family.
+     */
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes a refresh token and issues its replacement.
+     *
+     * @param presented The refresh token sent by the client
+     * @return The username and the replacement token, or empty if the token is unknown, expired or was already used
+     */
+    public Optional<Rotation> rotate(String presented) {
+        if (presented == null || presented.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = hash(presented);
+        long now = System.currentTimeMillis();
+        RefreshToken[] consumed = new RefreshToken[1];
+        RefreshToken[] reused = new RefreshToken[1];
+        tokens.computeIfPresent(key, (k, token) -> {
+            if (token.expiresAt() <= now) {
+                return null; // Expired: drop it
+            }
+            if (token.used()) {
+                reused[0] = token;
+                return token;
+            }
+            consumed[0] = token;
+            return token.markUsed();
+        });
+
+        if (reused[0] != null) {
+            log.warn("Refresh token reused for user {}; revoking its token family", reused[0].username());
+            tokens.values().removeIf(token -> token.family().equals(reused[0].family()));
+            return Optional.empty();
+        }
+        if (consumed[0] == null) {
+            return Optional.empty();
+        }
+        // Same family and absolute expiry: rotation does not extend the login beyond the original validity
+        String next = issue(consumed[0].username(), consumed[0].family(), consumed[0].expiresAt());
+        return Optional.of(new Rotation(consumed[0].username(), next));
+    }
+
+    /**
+     * Revokes all refresh tokens of a user, e.g. after a password change or deletion.
+     */
+    public void revokeAll(String username) {
+        tokens.values().removeIf(token -> token.username().equals(username));
+    }
+
+    public record Rotation(String username, String refreshToken) {}
+
+    private String issue(String username, String family) {
+        return issue(username, family, System.currentTimeMillis() + validityMillis);
+    }
+
+    private String issue(String username, String family, long expiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tokens.put(hash(token), new RefreshToken(username, family, expiresAt, false));
+
+        if (issuedSincePurge.incrementAndGet() >= PURGE_EVERY) {
+            issuedSincePurge.set(0);
+            long now = System.currentTimeMillis();
+            tokens.values().removeIf(stored -> stored.expiresAt() <= now);
+        }
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
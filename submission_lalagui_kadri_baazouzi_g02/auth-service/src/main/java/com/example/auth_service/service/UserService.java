@@ -19,13 +19,19 @@ import java.util.stream.Collectors;
 @Service
 // Implement UserDetailsService
 public class UserService implements UserDetailsService {
+    public static final int UNKNOWN_USER_TOKEN_VERSION = -1;
+
     // Use ConcurrentHashMap for thread safety if multiple requests might modify it
     private final Map<String, User> users = new ConcurrentHashMap<>();
+    // Bumped whenever a user's roles or password change or the user is deleted (see JwtAuthFilter)
+    private final Map<String, Integer> tokenVersions = new ConcurrentHashMap<>();
     private final PasswordEncoder passwordEncoder; // Inject PasswordEncoder
+    private final RefreshTokenService refreshTokenService; // Revoked on password change and deletion
 
     // Constructor injection for PasswordEncoder
-    public UserService(PasswordEncoder passwordEncoder) {
+    public UserService(PasswordEncoder passwordEncoder, RefreshTokenService refreshTokenService) {
         this.passwordEncoder = passwordEncoder;
+        this.refreshTokenService = refreshTokenService;
         // Remove hardcoded users - they will be added via signup
     }
 
@@ -52,10 +58,16 @@ public class UserService implements UserDetailsService {
         if (rawPassword != null) {
             String encodedPassword = passwordEncoder.encode(rawPassword);
             existing.setPassword(encodedPassword);
+            refreshTokenService.revokeAll(username); // Sessions started with the old password end
+            bumpTokenVersion(username);
         }
         // Only update roles if new ones are provided and not null
         if (roles != null) {
+            boolean rolesChanged = !roles.equals(existing.getRoles());
             existing.setRoles(new ArrayList<>(roles));
+            if (rolesChanged) {
+                bumpTokenVersion(username); // After the new roles are visible; issued tokens carry the old ones
+            }
         }
         // Make sure roles is never null
         if (existing.getRoles() == null) {
@@ -71,6 +83,25 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("User not found: " + username);
         }
         users.remove(username);
+        refreshTokenService.revokeAll(username);
+        bumpTokenVersion(username);
+    }
+
+    /**
+     * Current token version of a user, put into issued JWTs. A token whose version differs
+     * may carry stale roles and makes JwtAuthFilter load the user.
+     * Unknown users get {@link #UNKNOWN_USER_TOKEN_VERSION}, which no token carries, so a token for
+     * a user missing from the store (e.g. after a restart) always takes the slow path.
+     */
+    public int getTokenVersion(String username) {
+        if (!users.containsKey(username)) {
+            return UNKNOWN_USER_TOKEN_VERSION;
+        }
+        return tokenVersions.getOrDefault(username, 0);
+    }
+
+    private void bumpTokenVersion(String username) {
+        tokenVersions.merge(username, 1, Integer::sum);
     }
 
     // Method to get all users - required by AdminController
@@ -0,0 +1,114 @@
+package com.example.auth_service.config;
+
+import com.example.auth_service.service.RefreshTokenService;
+import com.example.auth_service.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthFilterTest {
+
+    private UserService userService;
+    private JwtUtil jwtUtil;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(new BCryptPasswordEncoder(4), new RefreshTokenService(Duration.ofDays(14)));
+        userService.registerUser("alice", "password", List.of("ROLE_USER"));
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-that-is-long-enough-for-hs512-signing-0123456789abcdef");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000);
+        jwtUtil.init();
+        filter = new JwtAuthFilter(userService, jwtUtil);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void currentTokenVersionUsesRolesFromTheToken() throws Exception {
+        // The claim differs from the stored roles, so the authorities show which one was used
+        String token = token(List.of("ROLE_FROM_TOKEN"), userService.getTokenVersion("alice"));
+
+        assertThat(authorities(authenticate(token))).containsExactly("ROLE_FROM_TOKEN");
+    }
+
+    @Test
+    void changedRolesLoadTheCurrentUser() throws Exception {
+        String token = token(List.of("ROLE_USER"), userService.getTokenVersion("alice"));
+        userService.updateUser("alice", null, List.of("ROLE_USER", "ROLE_ADMIN"));
+
+        assertThat(authorities(authenticate(token))).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void tokenWithoutVersionLoadsTheCurrentUser() throws Exception {
+        String token = token(List.of("ROLE_FROM_TOKEN"), null);
+
+        assertThat(authorities(authenticate(token))).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void deletedUserIsNotAuthenticated() throws Exception {
+        String token = token(List.of("ROLE_USER"), userService.getTokenVersion("alice"));
+        userService.deleteUser("alice");
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void unknownUserTakesTheSlowPathAndIsNotAuthenticated() throws Exception {
+        // E.g. issued before a restart emptied the in-memory user store, when every version was 0
+        String token = token("mallory", List.of("ROLE_ADMIN"), 0);
+
+        assertThat(userService.getTokenVersion("mallory")).isEqualTo(UserService.UNKNOWN_USER_TOKEN_VERSION);
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void invalidTokenIsNotAuthenticated() throws Exception {
+        assertThat(authenticate("not.a.jwt")).isNull();
+    }
+
+    private String token(List<String> roles, Integer tokenVersion) {
+        return token("alice", roles, tokenVersion);
+    }
+
+    private String token(String username, List<String> roles, Integer tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", roles);
+        if (tokenVersion != null) {
+            claims.put(JwtUtil.TOKEN_VERSION_CLAIM, tokenVersion);
+        }
+        return jwtUtil.generateTokenFromDetails(username, claims);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.auth_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenService service = new RefreshTokenService(Duration.ofDays(14));
+
+    @Test
+    void rotateReturnsUserAndNewToken() {
+        String token = service.issue("alice");
+
+        Optional<RefreshTokenService.Rotation> rotation = service.rotate(token);
+
+        assertThat(rotation).isPresent();
+        assertThat(rotation.get().username()).isEqualTo("alice");
+        assertThat(rotation.get().refreshToken()).isNotEqualTo(token);
+        assertThat(service.rotate(rotation.get().refreshToken())).isPresent();
+    }
+
+    @Test
+    void unknownOrMissingTokenIsRejected() {
+        assertThat(service.rotate("not-a-token")).isEmpty();
+        assertThat(service.rotate("")).isEmpty();
+        assertThat(service.rotate(null)).isEmpty();
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        String first = service.issue("alice");
+        String second = service.rotate(first).orElseThrow().refreshToken();
+
+        assertThat(service.rotate(first)).isEmpty(); // Replayed: revokes the family
+        assertThat(service.rotate(second)).isEmpty();
+    }
+
+    @Test
+    void reuseDoesNotRevokeOtherLogins() {
+        String stolen = service.issue("alice");
+        String otherLogin = service.issue("alice");
+        service.rotate(stolen);
+
+        service.rotate(stolen);
+
+        assertThat(service.rotate(otherLogin)).isPresent();
+    }
+
+    @Test
+    void revokeAllRemovesOnlyThatUsersTokens() {
+        String alice = service.issue("alice");
+        String bob = service.issue("bob");
+
+        service.revokeAll("alice");
+
+        assertThat(service.rotate(alice)).isEmpty();
+        assertThat(service.rotate(bob)).isPresent();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        RefreshTokenService expiring = new RefreshTokenService(Duration.ZERO);
+
+        assertThat(expiring.rotate(expiring.issue("alice"))).isEmpty();
+    }
+}
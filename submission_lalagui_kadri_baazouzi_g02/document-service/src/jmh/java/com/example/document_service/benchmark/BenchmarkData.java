@@ -0,0 +1,96 @@
+package com.example.document_service.benchmark;
+
+import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.model.Category;
+import com.example.document_service.model.Department;
+import com.example.document_service.model.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic fixtures shared by the benchmarks: same seed, same data on every run
+public final class BenchmarkData {
+
+    public static final long SEED = 42L;
+
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String[] WORDS = {
+            "annual", "report", "budget", "policy", "contract", "invoice", "minutes", "review",
+            "quarterly", "security", "onboarding", "roadmap", "audit", "summary", "proposal", "plan"
+    };
+    private static final String[] FILE_TYPES = {
+            "application/pdf", "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "text/plain"
+    };
+
+    private BenchmarkData() {
+    }
+
+    public static List<Document> documents(int count) {
+        Random random = new Random(SEED);
+        List<Category> categories = new ArrayList<>();
+        for (String name : List.of("Finance", "Legal", "HR", "Engineering")) {
+            Category category = new Category(name);
+            category.setId((long) categories.size() + 1);
+            categories.add(category);
+        }
+        List<Department> departments = new ArrayList<>();
+        for (String name : List.of("Accounting", "Operations", "Research")) {
+            Department department = new Department(name);
+            department.setId((long) departments.size() + 1);
+            departments.add(department);
+        }
+
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = title(random);
+            Document document = new Document();
+            document.setId(1000L + i);
+            document.setTitleEn(title);
+            document.setTitleEs(random.nextBoolean() ? title + " (es)" : null);
+            document.setS3FileKey("documents/" + Long.toHexString(random.nextLong()) + ".pdf");
+            document.setFileName(title.replace(' ', '_') + ".pdf");
+            document.setFileType(FILE_TYPES[random.nextInt(FILE_TYPES.length)]);
+            document.setFileSize(1024L + random.nextInt(20 * 1024 * 1024));
+            document.setCategory(categories.get(random.nextInt(categories.size())));
+            document.setDepartment(departments.get(random.nextInt(departments.size())));
+            document.setOwnerUserId("user-" + random.nextInt(500));
+            document.setCreatedAt(BASE_TIME.plusSeconds(random.nextInt(31_536_000)));
+            document.setUpdatedAt(document.getCreatedAt().plusSeconds(random.nextInt(86_400)));
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    public static List<DocumentViewDto> views(int count) {
+        return documents(count).stream()
+                .map(document -> DocumentViewDto.builder()
+                        .id(document.getId())
+                        .titleEn(document.getTitleEn())
+                        .titleEs(document.getTitleEs())
+                        .s3FileKey(document.getS3FileKey())
+                        .fileName(document.getFileName())
+                        .fileType(document.getFileType())
+                        .fileSize(document.getFileSize())
+                        .categoryName(document.getCategory().getName())
+                        .departmentName(document.getDepartment().getName())
+                        .ownerUserId(document.getOwnerUserId())
+                        .createdAt(document.getCreatedAt())
+                        .updatedAt(document.getUpdatedAt())
+                        .build())
+                .toList();
+    }
+
+    private static String title(Random random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.document_service.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point used by the "benchmark" Maven profile.
+// Args: [include regex] [JSON result file]. Fork/warmup/measurement settings live on the benchmark classes.
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        String resultFile = args.length > 1 ? args[1] : "target/jmh-result.json";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.document_service.benchmark;
+
+import com.example.document_service.dto.CursorPageDto;
+import com.example.document_service.dto.DocumentViewDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON rendering of listing responses: offset pages (Page) and cursor pages (CursorPageDto)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseParallelGC"})
+public class DocumentPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<DocumentViewDto> page;
+    private CursorPageDto<DocumentViewDto> cursorPage;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the MVC message converter (JavaTimeModule, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<DocumentViewDto> views = BenchmarkData.views(pageSize);
+        page = new PageImpl<>(views, PageRequest.of(3, pageSize), 10_000);
+        cursorPage = new CursorPageDto<>(views, pageSize, "MjAyNC0wMS0wMVQwMDowMDowMFp8MTAwMA", true);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeCursorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cursorPage);
+    }
+}
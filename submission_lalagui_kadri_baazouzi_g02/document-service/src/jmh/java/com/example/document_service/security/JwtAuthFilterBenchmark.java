@@ -0,0 +1,68 @@
+package com.example.document_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of turning the gateway's X-User-Id / X-User-Roles headers into an Authentication
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseParallelGC"})
+public class JwtAuthFilterBenchmark {
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String USER_ROLES_HEADER = "X-User-Roles";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"ROLE_USER", "ROLE_USER,ROLE_ADMIN,ROLE_MANAGER"})
+    private String roles;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        // No membership secret: the header path is skipped, as for requests without X-User-Departments
+        filter = new JwtAuthFilter(new DepartmentMembershipVerifier("", Duration.ofSeconds(60), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(filter, "userIdHeader", USER_ID_HEADER);
+        ReflectionTestUtils.setField(filter, "userRolesHeader", USER_ROLES_HEADER);
+        ReflectionTestUtils.setField(filter, "userDepartmentsHeader", "X-User-Departments");
+
+        request = new MockHttpServletRequest("GET", "/documents/my");
+        request.addHeader(USER_ID_HEADER, "user-42");
+        request.addHeader(USER_ROLES_HEADER, roles);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticateFromHeaders() throws ServletException, IOException {
+        // The filter only authenticates when the context is empty, as at the start of a real request
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
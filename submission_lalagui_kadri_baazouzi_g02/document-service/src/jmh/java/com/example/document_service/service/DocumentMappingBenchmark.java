@@ -0,0 +1,50 @@
+package com.example.document_service.service;
+
+import com.example.document_service.benchmark.BenchmarkData;
+import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.model.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DocumentViewDto mapping as done for create/get/update responses.
+// Lives in the service package because DocumentService.mapToViewDto is package-private.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseParallelGC"})
+public class DocumentMappingBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int pageSize;
+
+    private List<Document> documents;
+
+    @Setup
+    public void setUp() {
+        documents = BenchmarkData.documents(pageSize);
+    }
+
+    @Benchmark
+    public List<DocumentViewDto> mapPage() {
+        List<DocumentViewDto> views = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            views.add(DocumentService.mapToViewDto(document));
+        }
+        return views;
+    }
+}
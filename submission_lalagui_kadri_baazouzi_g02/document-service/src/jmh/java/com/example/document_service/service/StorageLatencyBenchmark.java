@@ -0,0 +1,133 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.PresignedUrl;
+import com.example.document_service.util.SingleFlightCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Request throughput when every request waits on a slow storage service: Tomcat's default platform
+// pool (200 threads) against one virtual thread per request. The storage service is an in-process
+// HTTP server that answers presigned-URL calls after storageLatencyMs; the cache never hits.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseParallelGC"})
+public class StorageLatencyBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int PLATFORM_POOL_SIZE = 200; // server.tomcat.threads.max default
+
+    @Param({"50", "200"})
+    private int storageLatencyMs;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private final AtomicLong fileKeys = new AtomicLong();
+
+    private HttpServer storageService;
+    private CloseableHttpClient httpClient;
+    private StorageServiceClient storageServiceClient;
+    private ExecutorService requestExecutor;
+
+    @Setup
+    public void setUp() throws IOException {
+        boolean virtual = "virtual".equals(threads);
+
+        storageService = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CONCURRENT_REQUESTS);
+        storageService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        storageService.createContext("/presigned-url/", exchange -> {
+            try {
+                Thread.sleep(storageLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"url\":\"http://minio:9000/documents" + exchange.getRequestURI().getPath()
+                    + "?X-Amz-Date=20240101T000000Z&X-Amz-Expires=3600\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        storageService.start();
+
+        // Connection pool sized to the request count so only the request threads limit concurrency
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(CONCURRENT_REQUESTS)
+                        .setMaxConnPerRoute(CONCURRENT_REQUESTS)
+                        .build())
+                .build();
+        SingleFlightCache<String, PresignedUrl> noCache =
+                new SingleFlightCache<>(Caffeine.newBuilder().maximumSize(0).build());
+        storageServiceClient = new StorageServiceClient(new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)),
+                noCache, new SimpleMeterRegistry(), 8, virtual);
+        ReflectionTestUtils.setField(storageServiceClient, "storageServiceUrl",
+                "http://localhost:" + storageService.getAddress().getPort());
+        ReflectionTestUtils.setField(storageServiceClient, "presignedUrlValidity", Duration.ofHours(1));
+
+        requestExecutor = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        requestExecutor.shutdownNow();
+        storageServiceClient.shutdown();
+        httpClient.close();
+        storageService.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void concurrentRequests(Blackhole blackhole) throws InterruptedException, ExecutionException {
+        List<Future<String>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            String s3FileKey = "file-" + fileKeys.incrementAndGet() + ".pdf";
+            responses.add(requestExecutor.submit(() -> storageServiceClient.getPresignedUrl(s3FileKey)));
+        }
+        for (Future<String> response : responses) {
+            blackhole.consume(response.get());
+        }
+    }
+}
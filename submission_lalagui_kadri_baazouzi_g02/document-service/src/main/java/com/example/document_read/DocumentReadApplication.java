@@ -0,0 +1,34 @@
+package com.example.document_read;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Non-blocking read side of the document service: document listings and get-by-id on WebFlux (Netty)
+ * and R2DBC, against the same database as the MVC application.
+ * <p>
+ * Ships in the document-service jar but runs as its own process, since one application cannot serve
+ * both Servlet and WebFlux:
+ * {@code java -Dloader.main=com.example.document_read.DocumentReadApplication -jar document-service.jar}.
+ * It lives outside the com.example.document_service package so neither application scans the other's beans.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        KafkaAutoConfiguration.class
+})
+public class DocumentReadApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(DocumentReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("read") // application-read.yaml on top of the shared application.yaml
+                .run(args);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.document_read.config;
+
+import com.example.document_service.util.DepartmentIdSet;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ReadCacheConfig {
+
+    @Value("${app.cache.user-departments.maximum-size:10000}")
+    private long userDepartmentsMaximumSize;
+
+    // Safety net only: committed assignment changes evict through UserDepartmentChangeListener
+    @Value("${app.cache.user-departments.expire-after-write:10m}")
+    private Duration userDepartmentsExpireAfterWrite;
+
+    /**
+     * Per-user department access set, keyed by user ID. Async so a miss is loaded through R2DBC
+     * without blocking, and concurrent misses share one query.
+     * Hit/miss counts are published as cache.* metrics with cache=userDepartments.
+     */
+    @Bean
+    public AsyncCache<String, DepartmentIdSet> userDepartmentCache(MeterRegistry meterRegistry) {
+        AsyncCache<String, DepartmentIdSet> cache = Caffeine.newBuilder()
+                .maximumSize(userDepartmentsMaximumSize)
+                .expireAfterWrite(userDepartmentsExpireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "userDepartments");
+        return cache;
+    }
+}
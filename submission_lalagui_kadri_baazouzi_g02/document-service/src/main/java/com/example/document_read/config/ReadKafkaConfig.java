@@ -0,0 +1,28 @@
+package com.example.document_read.config;
+
+import com.example.document_service.config.KafkaConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+// Kafka auto-configuration is excluded here (no producer, no translation consumer); only the cache broadcast is read
+@Configuration
+@EnableKafka
+public class ReadKafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    // Same group-less broadcast consumer as the MVC application's reference data listener
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> referenceDataListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(KafkaConsumerConfig.broadcastConsumerProperties(bootstrapServers)));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
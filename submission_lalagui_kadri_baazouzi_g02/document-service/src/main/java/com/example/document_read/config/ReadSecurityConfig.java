@@ -0,0 +1,60 @@
+package com.example.document_read.config;
+
+import com.example.document_read.security.GatewayHeadersAuthenticationFilter;
+import com.example.document_service.security.DepartmentMembershipVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+
+import java.time.Duration;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity // Enforces the @PreAuthorize role checks on ReactiveDocumentController
+public class ReadSecurityConfig {
+
+    @Value("${gateway.auth.headers.user-id}")
+    private String userIdHeader;
+
+    @Value("${gateway.auth.headers.user-roles}")
+    private String userRolesHeader;
+
+    @Value("${gateway.auth.headers.user-departments}")
+    private String userDepartmentsHeader;
+
+    // Same settings as in the MVC application, where it is a component
+    @Bean
+    public DepartmentMembershipVerifier membershipVerifier(@Value("${app.auth.membership.secret:}") String secret,
+                                                           @Value("${app.auth.membership.max-age:60s}") Duration maxAge,
+                                                           MeterRegistry meterRegistry) {
+        return new DepartmentMembershipVerifier(secret, maxAge, meterRegistry);
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, DepartmentMembershipVerifier membershipVerifier) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // Not a bean: a WebFilter bean would also be registered outside the security chain
+                .addFilterAt(new GatewayHeadersAuthenticationFilter(userIdHeader, userRolesHeader,
+                                userDepartmentsHeader, membershipVerifier),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/actuator/**").permitAll()
+                        .anyExchange().authenticated())
+                // No gateway headers: 401, as ControllerUtils does in the MVC application
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.document_read.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration
+public class ReadWebConfig implements WebFluxConfigurer {
+
+    // Pageable parameters (page, size, sort) as on the MVC endpoints, which default to @PageableDefault(size = 20, sort = "createdAt")
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        ReactivePageableHandlerMethodArgumentResolver pageableResolver = new ReactivePageableHandlerMethodArgumentResolver();
+        pageableResolver.setFallbackPageable(PageRequest.of(0, 20, Sort.by("createdAt")));
+        configurer.addCustomResolver(pageableResolver);
+    }
+}
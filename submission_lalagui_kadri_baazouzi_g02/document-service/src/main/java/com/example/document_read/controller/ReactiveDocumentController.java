@@ -0,0 +1,130 @@
+package com.example.document_read.controller;
+
+import com.example.document_read.service.ReactiveDocumentService;
+import com.example.document_service.dto.CursorPageDto;
+import com.example.document_service.dto.DocumentViewDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same paths, parameters and responses as the read endpoints of the MVC DocumentController,
+ * so the gateway can send GETs for them to either application.
+ */
+@RestController
+@RequestMapping("/api/v1/documents")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDocumentController {
+
+    private final ReactiveDocumentService documentService;
+
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public Mono<ResponseEntity<DocumentViewDto>> getDocumentById(@PathVariable Long id, Authentication authentication) {
+        // With an ETag on the entity, WebFlux answers a matching If-None-Match with 304 itself
+        return documentService.getDocumentById(id, authentication.getName(), roles(authentication))
+                .map(document -> ResponseEntity.ok().eTag(document.eTag()).body(document.document()));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<Page<DocumentViewDto>>> getMyDocuments(Pageable pageable, Authentication authentication,
+                                                                      ServerWebExchange exchange) {
+        return unlessNotModified(exchange, documentService.getDocumentsForUserETag(authentication.getName(), pageable),
+                documentService.findDocumentsForUser(authentication.getName(), pageable));
+    }
+
+    @GetMapping("/department/{departmentId}")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<Page<DocumentViewDto>>> getDocumentsByDepartment(@PathVariable Long departmentId,
+                                                                                Pageable pageable,
+                                                                                Authentication authentication,
+                                                                                ServerWebExchange exchange) {
+        return documentService.canAccessDepartment(authentication.getName(), roles(authentication), departmentId)
+                .flatMap(allowed -> allowed
+                        ? unlessNotModified(exchange, documentService.getDocumentsByDepartmentETag(departmentId, pageable),
+                                documentService.findDocumentsByDepartment(departmentId, pageable))
+                        : forbidden(authentication, departmentId));
+    }
+
+    @GetMapping("/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<Page<DocumentViewDto>>> getAllDocuments(Pageable pageable, ServerWebExchange exchange) {
+        return unlessNotModified(exchange, documentService.getAllDocumentsETag(pageable),
+                documentService.findAllDocuments(pageable));
+    }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<CursorPageDto<DocumentViewDto>>> scrollMyDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return documentService.scrollDocumentsForUser(authentication.getName(), cursor, clampScrollSize(size))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/department/{departmentId}/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<CursorPageDto<DocumentViewDto>>> scrollDocumentsByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return documentService.canAccessDepartment(authentication.getName(), roles(authentication), departmentId)
+                .flatMap(allowed -> allowed
+                        ? documentService.scrollDocumentsByDepartment(departmentId, cursor, clampScrollSize(size))
+                                .map(ResponseEntity::ok)
+                        : forbidden(authentication, departmentId));
+    }
+
+    @GetMapping("/all/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<ResponseEntity<CursorPageDto<DocumentViewDto>>> scrollAllDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return documentService.scrollAllDocuments(cursor, clampScrollSize(size)).map(ResponseEntity::ok);
+    }
+
+    // Fingerprint first (count + latest updates), so an unchanged page is a 304 without the page query.
+    // The page is lazy: it only runs once subscribed to
+    private static <T> Mono<ResponseEntity<T>> unlessNotModified(ServerWebExchange exchange, Mono<String> eTag, Mono<T> page) {
+        return eTag.flatMap(tag -> exchange.checkNotModified(tag)
+                ? Mono.empty()
+                : page.map(body -> ResponseEntity.ok().eTag(tag).body(body)));
+    }
+
+    private static <T> Mono<ResponseEntity<T>> forbidden(Authentication authentication, Long departmentId) {
+        log.warn("User {} attempted to access documents in department {} they don't have access to",
+                authentication.getName(), departmentId);
+        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+
+    private static List<String> roles(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+
+    private static int clampScrollSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
+}
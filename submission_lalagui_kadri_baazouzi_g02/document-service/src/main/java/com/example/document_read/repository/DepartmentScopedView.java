@@ -0,0 +1,14 @@
+package com.example.document_read.repository;
+
+import com.example.document_service.dto.DocumentVersion;
+import com.example.document_service.dto.DocumentViewDto;
+
+// A document view plus its version: the department ID that authorization is checked against and the ETag stamps
+public record DepartmentScopedView(
+        DocumentVersion version,
+        DocumentViewDto view
+) {
+    public Long departmentId() {
+        return version.departmentId();
+    }
+}
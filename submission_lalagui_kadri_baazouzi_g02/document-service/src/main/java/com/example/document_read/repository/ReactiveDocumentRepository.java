@@ -0,0 +1,143 @@
+package com.example.document_read.repository;
+
+import com.example.document_service.dto.DocumentCursor;
+import com.example.document_service.dto.DocumentVersion;
+import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.dto.ListingVersion;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * R2DBC queries for document views, the same rows as DocumentRepository's VIEW_SELECT queries.
+ * {@code departmentIds} restricts a query to those departments; null means all documents.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveDocumentRepository {
+
+    private static final String SELECT = "SELECT d.id, d.department_id, d.title_en, d.title_es, d.s3file_key, d.file_name," +
+            " d.file_type, d.file_size, c.name AS category_name, dep.name AS department_name, d.owner_user_id," +
+            " d.created_at, d.updated_at, c.updated_at AS category_updated_at, dep.updated_at AS department_updated_at" +
+            " FROM documents d JOIN categories c ON c.id = d.category_id JOIN departments dep ON dep.id = d.department_id";
+
+    // Same fingerprint as DocumentRepository.LISTING_VERSION_SELECT, so both applications compute the same ETags
+    private static final String LISTING_VERSION_SELECT = "SELECT COUNT(*) AS total, MAX(d.updated_at) AS last_updated_at," +
+            " MAX(c.updated_at) AS categories_updated_at, MAX(dep.updated_at) AS departments_updated_at" +
+            " FROM documents d JOIN categories c ON c.id = d.category_id JOIN departments dep ON dep.id = d.department_id";
+
+    // Sortable DocumentViewDto properties; anything else is rejected rather than spliced into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "d.id",
+            "titleEn", "d.title_en",
+            "titleEs", "d.title_es",
+            "fileName", "d.file_name",
+            "fileType", "d.file_type",
+            "fileSize", "d.file_size",
+            "ownerUserId", "d.owner_user_id",
+            "createdAt", "d.created_at",
+            "updatedAt", "d.updated_at");
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<DepartmentScopedView> findById(long id) {
+        return databaseClient.sql(SELECT + " WHERE d.id = :id")
+                .bind("id", id)
+                .map(row -> new DepartmentScopedView(new DocumentVersion(row.get("id", Long.class),
+                        row.get("department_id", Long.class), row.get("updated_at", Instant.class),
+                        row.get("category_updated_at", Instant.class), row.get("department_updated_at", Instant.class)),
+                        toView(row)))
+                .one();
+    }
+
+    public Flux<DocumentViewDto> findPage(Long[] departmentIds, Pageable pageable) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT + departmentFilter(departmentIds, " WHERE")
+                        + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset());
+        return bindDepartments(spec, departmentIds).map(ReactiveDocumentRepository::toView).all();
+    }
+
+    public Mono<Long> count(Long[] departmentIds) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT COUNT(*) AS total FROM documents d"
+                + departmentFilter(departmentIds, " WHERE"));
+        return bindDepartments(spec, departmentIds).map(row -> row.get("total", Long.class)).one();
+    }
+
+    public Mono<ListingVersion> listingVersion(Long[] departmentIds) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(LISTING_VERSION_SELECT
+                + departmentFilter(departmentIds, " WHERE"));
+        return bindDepartments(spec, departmentIds)
+                .map(row -> new ListingVersion(row.get("total", Long.class), row.get("last_updated_at", Instant.class),
+                        row.get("categories_updated_at", Instant.class), row.get("departments_updated_at", Instant.class)))
+                .one();
+    }
+
+    // Keyset page after the cursor in (created_at, id) order, like DocumentRepository.find*After
+    public Flux<DocumentViewDto> findAfter(Long[] departmentIds, DocumentCursor position, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT
+                        + " WHERE d.created_at >= :createdAt AND (d.created_at > :createdAt OR d.id > :id)"
+                        + departmentFilter(departmentIds, " AND")
+                        + " ORDER BY d.created_at ASC, d.id ASC LIMIT :limit")
+                .bind("createdAt", position.createdAt())
+                .bind("id", position.id())
+                .bind("limit", limit);
+        return bindDepartments(spec, departmentIds).map(ReactiveDocumentRepository::toView).all();
+    }
+
+    public Mono<Boolean> departmentExists(long departmentId) {
+        return databaseClient.sql("SELECT 1 FROM departments WHERE id = :id")
+                .bind("id", departmentId)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    private static String departmentFilter(Long[] departmentIds, String keyword) {
+        return departmentIds == null ? "" : keyword + " d.department_id = ANY(:departmentIds)";
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindDepartments(DatabaseClient.GenericExecuteSpec spec, Long[] departmentIds) {
+        return departmentIds == null ? spec : spec.bind("departmentIds", departmentIds);
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort documents by '" + order.getProperty() + "'");
+            }
+            orderBy.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return orderBy.toString();
+    }
+
+    private static DocumentViewDto toView(Readable row) {
+        return new DocumentViewDto(
+                row.get("id", Long.class),
+                row.get("title_en", String.class),
+                row.get("title_es", String.class),
+                row.get("s3file_key", String.class),
+                row.get("file_name", String.class),
+                row.get("file_type", String.class),
+                row.get("file_size", Long.class),
+                row.get("category_name", String.class),
+                row.get("department_name", String.class),
+                row.get("owner_user_id", String.class),
+                row.get("created_at", Instant.class),
+                row.get("updated_at", Instant.class));
+    }
+}
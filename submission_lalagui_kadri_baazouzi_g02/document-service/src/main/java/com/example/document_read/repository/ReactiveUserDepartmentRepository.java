@@ -0,0 +1,20 @@
+package com.example.document_read.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserDepartmentRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Long> findDepartmentIdsByUserId(String userId) {
+        return databaseClient.sql("SELECT department_id FROM user_departments WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("department_id", Long.class))
+                .all();
+    }
+}
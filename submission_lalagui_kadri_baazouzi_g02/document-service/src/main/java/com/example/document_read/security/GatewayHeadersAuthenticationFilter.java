@@ -0,0 +1,64 @@
+package com.example.document_read.security;
+
+import com.example.document_service.security.DepartmentMembershipVerifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reactive counterpart of the MVC JwtAuthFilter: trusts the user ID and roles headers set by the
+ * gateway after it validated the JWT. Requests without a user ID stay unauthenticated.
+ * Department IDs from a verified membership header become the authentication details,
+ * see ReactiveDocumentService.getUserDepartmentIdSet.
+ */
+@Slf4j
+public class GatewayHeadersAuthenticationFilter implements WebFilter {
+
+    private final String userIdHeader;
+    private final String userRolesHeader;
+    private final String userDepartmentsHeader;
+    private final DepartmentMembershipVerifier membershipVerifier;
+
+    public GatewayHeadersAuthenticationFilter(String userIdHeader, String userRolesHeader,
+                                              String userDepartmentsHeader, DepartmentMembershipVerifier membershipVerifier) {
+        this.userIdHeader = userIdHeader;
+        this.userRolesHeader = userRolesHeader;
+        this.userDepartmentsHeader = userDepartmentsHeader;
+        this.membershipVerifier = membershipVerifier;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String userId = exchange.getRequest().getHeaders().getFirst(userIdHeader);
+        if (userId == null || userId.isEmpty()) {
+            log.debug("No user ID found in header '{}'", userIdHeader);
+            return chain.filter(exchange);
+        }
+
+        String rolesHeader = exchange.getRequest().getHeaders().getFirst(userRolesHeader);
+        List<SimpleGrantedAuthority> authorities = rolesHeader == null ? List.of() : Arrays.stream(rolesHeader.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        if (authorities.isEmpty()) {
+            log.warn("No roles found in header '{}' for user ID: {}", userRolesHeader, userId);
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userId, null, authorities);
+        membershipVerifier.verify(userId, exchange.getRequest().getHeaders().getFirst(userDepartmentsHeader))
+                .ifPresent(authentication::setDetails);
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
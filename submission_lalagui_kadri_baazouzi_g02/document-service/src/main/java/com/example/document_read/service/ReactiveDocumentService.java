@@ -0,0 +1,182 @@
+package com.example.document_read.service;
+
+import com.example.document_read.repository.DepartmentScopedView;
+import com.example.document_read.repository.ReactiveDocumentRepository;
+import com.example.document_read.repository.ReactiveUserDepartmentRepository;
+import com.example.document_service.dto.CursorPageDto;
+import com.example.document_service.dto.DocumentCursor;
+import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.dto.DocumentWithETag;
+import com.example.document_service.dto.ListingVersion;
+import com.example.document_service.exception.ResourceNotFoundException;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.ETags;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non-blocking versions of the DocumentService read methods, with the same department-based access rules:
+ * admins see every document, users only documents in departments they are assigned to.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDocumentService {
+
+    private final ReactiveDocumentRepository documentRepository;
+    private final ReactiveUserDepartmentRepository userDepartmentRepository;
+    private final AsyncCache<String, DepartmentIdSet> userDepartmentCache; // See ReadCacheConfig
+
+    // The view with its ETag, both taken from the same row
+    public Mono<DocumentWithETag> getDocumentById(long id, String userId, Collection<String> userRoles) {
+        log.debug("Fetching document by ID: {} for user: {}", id, userId);
+        return documentRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Document not found with id: " + id)))
+                .flatMap(document -> userRoles.contains("ROLE_ADMIN")
+                        ? Mono.just(document)
+                        : checkDepartmentAccess(document, userId))
+                .map(document -> new DocumentWithETag(document.view(), ETags.forDocument(document.version())));
+    }
+
+    public Mono<Page<DocumentViewDto>> findDocumentsForUser(String userId, Pageable pageable) {
+        return getUserDepartmentIdSet(userId).flatMap(departmentIds -> {
+            if (departmentIds.isEmpty()) {
+                log.info("User {} is not assigned to any departments. Returning empty document list.", userId);
+                return Mono.just(Page.empty(pageable));
+            }
+            return findPage(departmentIds.toList().toArray(Long[]::new), pageable);
+        });
+    }
+
+    public Mono<Page<DocumentViewDto>> findAllDocuments(Pageable pageable) {
+        return findPage(null, pageable);
+    }
+
+    public Mono<Page<DocumentViewDto>> findDocumentsByDepartment(long departmentId, Pageable pageable) {
+        return requireDepartment(departmentId).then(findPage(new Long[] {departmentId}, pageable));
+    }
+
+    // Listing ETags, built like DocumentService's so a conditional GET gets the same answer from either application
+
+    public Mono<String> getDocumentsForUserETag(String userId, Pageable pageable) {
+        return getUserDepartmentIdSet(userId).flatMap(departmentIds -> departmentIds.isEmpty()
+                ? Mono.just(ETags.forListing("user:none", new ListingVersion(0L, null, null, null), pageable))
+                : documentRepository.listingVersion(departmentIds.toList().toArray(Long[]::new))
+                        .map(version -> ETags.forListing("user:" + departmentIds.toList(), version, pageable)));
+    }
+
+    public Mono<String> getDocumentsByDepartmentETag(long departmentId, Pageable pageable) {
+        return documentRepository.listingVersion(new Long[] {departmentId})
+                .map(version -> ETags.forListing("department:" + departmentId, version, pageable));
+    }
+
+    public Mono<String> getAllDocumentsETag(Pageable pageable) {
+        return documentRepository.listingVersion(null).map(version -> ETags.forListing("all", version, pageable));
+    }
+
+    public Mono<CursorPageDto<DocumentViewDto>> scrollDocumentsForUser(String userId, String cursor, int size) {
+        DocumentCursor position = DocumentCursor.decode(cursor);
+        return getUserDepartmentIdSet(userId).flatMap(departmentIds -> {
+            if (departmentIds.isEmpty()) {
+                log.info("User {} is not assigned to any departments. Returning empty document list.", userId);
+                return Mono.just(new CursorPageDto<>(List.of(), size, null, false));
+            }
+            return scroll(departmentIds.toList().toArray(Long[]::new), position, size);
+        });
+    }
+
+    public Mono<CursorPageDto<DocumentViewDto>> scrollDocumentsByDepartment(long departmentId, String cursor, int size) {
+        DocumentCursor position = DocumentCursor.decode(cursor);
+        return requireDepartment(departmentId).then(scroll(new Long[] {departmentId}, position, size));
+    }
+
+    public Mono<CursorPageDto<DocumentViewDto>> scrollAllDocuments(String cursor, int size) {
+        return scroll(null, DocumentCursor.decode(cursor), size);
+    }
+
+    public Mono<Boolean> canAccessDepartment(String userId, Collection<String> userRoles, long departmentId) {
+        if (userRoles.contains("ROLE_ADMIN")) {
+            return Mono.just(true);
+        }
+        return getUserDepartmentIdSet(userId).map(departmentIds -> departmentIds.contains(departmentId));
+    }
+
+    // Taken from the verified gateway membership header when the request carried one (GatewayHeadersAuthenticationFilter),
+    // otherwise served from the cache; a miss runs one query for all concurrent callers
+    public Mono<DepartmentIdSet> getUserDepartmentIdSet(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return Mono.just(DepartmentIdSet.EMPTY);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .filter(authentication -> userId.equals(authentication.getName()))
+                .mapNotNull(authentication -> authentication.getDetails() instanceof DepartmentIdSet departmentIds ? departmentIds : null)
+                .switchIfEmpty(Mono.defer(() -> getCachedUserDepartmentIdSet(userId)));
+    }
+
+    private Mono<DepartmentIdSet> getCachedUserDepartmentIdSet(String userId) {
+        // suppressCancel: the future is shared through the cache, so one client disconnecting must not cancel it
+        return Mono.fromFuture(() -> userDepartmentCache.get(userId, (key, executor) ->
+                userDepartmentRepository.findDepartmentIdsByUserId(key)
+                        .collectList()
+                        .map(DepartmentIdSet::of)
+                        .toFuture()), true);
+    }
+
+    private Mono<DepartmentScopedView> checkDepartmentAccess(DepartmentScopedView document, String userId) {
+        return getUserDepartmentIdSet(userId).flatMap(departmentIds -> {
+            if (departmentIds.isEmpty()) {
+                log.warn("User {} has no department assignments, cannot access any documents", userId);
+                return Mono.error(new AccessDeniedException("User does not have any department assignments"));
+            }
+            if (!departmentIds.contains(document.departmentId())) {
+                log.warn("Access denied for user {} to document {} in department {}. User departments: {}",
+                        userId, document.view().id(), document.departmentId(), departmentIds);
+                return Mono.error(new AccessDeniedException("User does not have access to this document's department"));
+            }
+            return Mono.just(document);
+        });
+    }
+
+    private Mono<Void> requireDepartment(long departmentId) {
+        return documentRepository.departmentExists(departmentId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("Department not found with id: " + departmentId)));
+    }
+
+    // Page content and total count run concurrently on separate connections
+    private Mono<Page<DocumentViewDto>> findPage(Long[] departmentIds, Pageable pageable) {
+        return Mono.zip(documentRepository.findPage(departmentIds, pageable).collectList(),
+                        documentRepository.count(departmentIds))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    // Fetches one extra row to learn whether another page follows, as DocumentService.toCursorPage expects
+    private Mono<CursorPageDto<DocumentViewDto>> scroll(Long[] departmentIds, DocumentCursor position, int size) {
+        return documentRepository.findAfter(departmentIds, position, size + 1)
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > size;
+                    List<DocumentViewDto> page = hasNext ? rows.subList(0, size) : rows;
+                    String nextCursor = null;
+                    if (hasNext) {
+                        DocumentViewDto last = page.get(page.size() - 1);
+                        nextCursor = new DocumentCursor(last.createdAt(), last.id()).encode();
+                    }
+                    return new CursorPageDto<>(List.copyOf(page), size, nextCursor, hasNext);
+                });
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.document_read.service;
+
+import com.example.document_service.dto.ReferenceDataChangedEvent;
+import com.example.document_service.security.DepartmentMembershipVerifier;
+import com.example.document_service.util.DepartmentIdSet;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies committed department assignment changes made through the MVC application: the user's cached
+ * department IDs are dropped, and membership headers stamped before the change are no longer accepted.
+ * Reads the broadcast without a consumer group, like ReferenceDataCacheListener.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserDepartmentChangeListener {
+
+    private final AsyncCache<String, DepartmentIdSet> userDepartmentCache;
+    private final DepartmentMembershipVerifier membershipVerifier;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = "${app.kafka.topic.reference-data-changed}", partitions = "0"),
+            containerFactory = "referenceDataListenerContainerFactory")
+    public void onReferenceDataChanged(String payload) {
+        ReferenceDataChangedEvent event;
+        try {
+            event = objectMapper.readValue(payload, ReferenceDataChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed reference data event: {}", payload);
+            return;
+        }
+        // Categories and departments are joined in SQL here, so only assignments are cached
+        if (!ReferenceDataChangedEvent.USER_DEPARTMENTS.equals(event.cache()) || event.key() == null) {
+            return;
+        }
+
+        userDepartmentCache.synchronous().invalidate(event.key());
+        membershipVerifier.markChanged(event.key());
+        log.debug("Invalidated department assignments of user {} after a committed change", event.key());
+    }
+}
@@ -2,8 +2,13 @@ package com.example.document_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is only for the reactive read application (com.example.document_read); without a
+// ConnectionFactory none of the other R2DBC auto-configuration (including its transaction manager) applies
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class DocumentServiceApplication {
 
 	public static void main(String[] args) {
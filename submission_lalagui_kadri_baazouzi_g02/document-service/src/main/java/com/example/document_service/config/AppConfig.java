@@ -1,14 +1,102 @@
 package com.example.document_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
 
+    @Value("${storage.service.url:http://storage-service:8002}")
+    private String storageServiceUrl;
+
+    @Value("${app.http-client.max-total:200}")
+    private int maxTotal;
+
+    @Value("${app.http-client.default-max-per-route:20}")
+    private int defaultMaxPerRoute;
+
+    @Value("${app.http-client.storage-max-per-route:100}")
+    private int storageMaxPerRoute;
+
+    @Value("${app.http-client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    // Longest silence allowed between packets while reading a response
+    @Value("${app.http-client.read-timeout:30s}")
+    private Duration readTimeout;
+
+    // How long a caller waits for a pooled connection once the route is saturated
+    @Value("${app.http-client.connection-request-timeout:2s}")
+    private Duration connectionRequestTimeout;
+
+    // Below the storage service's keep-alive timeout (uvicorn closes idle connections after 5s)
+    @Value("${app.http-client.idle-timeout:4s}")
+    private Duration idleTimeout;
+
+    @Value("${app.http-client.time-to-live:5m}")
+    private Duration timeToLive;
+
+    /**
+     * Connection pool shared by all outbound HTTP calls.
+     * Pool usage and pending requests are published as httpcomponents.httpclient.pool.* metrics with httpclient=outbound.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(defaultMaxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.of(idleTimeout.dividedBy(2)))
+                        .build())
+                .build();
+        connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(URI.create(storageServiceUrl))), storageMaxPerRoute);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    /**
+     * Built from Boot's RestTemplateBuilder so request latency is recorded as http.client.requests.
+     * The HttpComponents request factory streams request bodies, which upload relaying relies on.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient httpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
     }
-} 
\ No newline at end of file
+}
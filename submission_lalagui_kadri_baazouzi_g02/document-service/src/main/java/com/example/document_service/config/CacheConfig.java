@@ -0,0 +1,108 @@
+package com.example.document_service.config;
+
+import com.example.document_service.dto.PresignedUrl;
+import com.example.document_service.dto.ReferenceDataChangedEvent;
+import com.example.document_service.model.Category;
+import com.example.document_service.model.Department;
+import com.example.document_service.repository.CategoryRepository;
+import com.example.document_service.repository.DepartmentRepository;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.ReferenceDataCache;
+import com.example.document_service.util.SingleFlightCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${app.cache.user-departments.maximum-size:10000}")
+    private long userDepartmentsMaximumSize;
+
+    // Safety net only: assignment changes evict immediately on this replica
+    // and, once committed, on every other one (ReferenceDataCacheListener)
+    @Value("${app.cache.user-departments.expire-after-write:10m}")
+    private Duration userDepartmentsExpireAfterWrite;
+
+    @Value("${app.cache.presigned-urls.maximum-size:10000}")
+    private long presignedUrlsMaximumSize;
+
+    // Minimum validity left on any URL handed out from the cache
+    @Value("${app.cache.presigned-urls.expiry-margin:15m}")
+    private Duration presignedUrlsExpiryMargin;
+
+    /**
+     * Per-user department access set, keyed by user ID.
+     * Hit/miss counts are published as cache.* metrics with cache=userDepartments.
+     */
+    @Bean
+    public SingleFlightCache<String, DepartmentIdSet> userDepartmentCache(MeterRegistry meterRegistry) {
+        Cache<String, DepartmentIdSet> cache = Caffeine.newBuilder()
+                .maximumSize(userDepartmentsMaximumSize)
+                .expireAfterWrite(userDepartmentsExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDepartments");
+        return new SingleFlightCache<>(cache);
+    }
+
+    /**
+     * Presigned download URLs, keyed by S3 file key.
+     * Each entry expires {@code expiry-margin} before the URL itself does.
+     * Hit/miss counts are published as cache.* metrics with cache=presignedUrls.
+     */
+    @Bean
+    public SingleFlightCache<String, PresignedUrl> presignedUrlCache(MeterRegistry meterRegistry) {
+        Cache<String, PresignedUrl> cache = Caffeine.newBuilder()
+                .maximumSize(presignedUrlsMaximumSize)
+                .expireAfter(new UntilUrlExpiry(presignedUrlsExpiryMargin))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "presignedUrls");
+        return new SingleFlightCache<>(cache);
+    }
+
+    /**
+     * All categories, invalidated by CategoryService on every change (locally and on other replicas).
+     */
+    @Bean
+    public ReferenceDataCache<Category> categoryCache(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        return new ReferenceDataCache<>(ReferenceDataChangedEvent.CATEGORIES, categoryRepository::findAll, Category::getId, meterRegistry);
+    }
+
+    /**
+     * All departments, invalidated by DepartmentService on every change (locally and on other replicas).
+     */
+    @Bean
+    public ReferenceDataCache<Department> departmentCache(DepartmentRepository departmentRepository, MeterRegistry meterRegistry) {
+        return new ReferenceDataCache<>(ReferenceDataChangedEvent.DEPARTMENTS, departmentRepository::findAll, Department::getId, meterRegistry);
+    }
+
+    // Each entry lives until expiry-margin before its URL stops working
+    private record UntilUrlExpiry(Duration margin) implements Expiry<String, PresignedUrl> {
+
+        @Override
+        public long expireAfterCreate(String key, PresignedUrl value, long currentTime) {
+            Duration ttl = Duration.between(Instant.now(), value.expiresAt()).minus(margin);
+            return ttl.isNegative() ? 0L : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, PresignedUrl value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, PresignedUrl value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
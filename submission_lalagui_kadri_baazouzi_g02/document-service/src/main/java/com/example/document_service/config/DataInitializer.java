@@ -6,6 +6,8 @@ import com.example.document_service.service.UserDepartmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,10 +18,14 @@ public class DataInitializer implements CommandLineRunner {
 
     private final DepartmentRepository departmentRepository;
     private final UserDepartmentService userDepartmentService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
     public void run(String... args) {
+        alignDocumentIdSequence();
+        ensureTitleSearchIndex();
+
         // Initialize default department if none exists
         if (departmentRepository.count() == 0) {
             log.info("No departments found. Creating default department...");
@@ -40,4 +46,30 @@ public class DataInitializer implements CommandLineRunner {
             log.info("Departments already exist. Skipping initialization.");
         }
     }
-} 
\ No newline at end of file
+
+    // documents.id used to be an IDENTITY column. On databases that already hold documents, move the
+    // new document_id_seq past the existing IDs so pooled allocation cannot hand out a used ID.
+    private void alignDocumentIdSequence() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        Long aligned = jdbcTemplate.queryForObject(
+                "SELECT setval('document_id_seq', GREATEST(m.max_id + 50, s.last_value)) " +
+                "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM documents) m, document_id_seq s", Long.class);
+        log.info("document_id_seq is at {}", aligned);
+    }
+
+    // Full-text search over both titles (DocumentSearchRepository). Hibernate's ddl-auto cannot
+    // declare generated columns, so the column and its GIN index are created here. Adding the
+    // column rewrites the table once; afterwards both statements are no-ops.
+    private void ensureTitleSearchIndex() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE documents ADD COLUMN IF NOT EXISTS title_search tsvector GENERATED ALWAYS AS (" +
+                "to_tsvector('english', coalesce(title_en, '')) || to_tsvector('spanish', coalesce(title_es, ''))) STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_title_search ON documents USING GIN (title_search)");
+    }
+}
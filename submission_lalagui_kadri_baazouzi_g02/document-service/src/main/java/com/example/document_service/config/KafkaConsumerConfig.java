@@ -0,0 +1,92 @@
+package com.example.document_service.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+
+    @Value("${app.kafka.consumer.translation.concurrency:1}")
+    private int translationConcurrency;
+
+    @Value("${app.kafka.consumer.translation.max-poll-records:500}")
+    private int translationMaxPollRecords;
+
+    // Values are read as raw JSON strings so that unparseable messages can be dead-lettered unchanged
+    @Bean
+    public ConsumerFactory<String, String> translationConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // Upper bound on the number of titles written by one batched UPDATE
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, translationMaxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    /**
+     * Batch listener factory for translation results. Concurrency above the topic's
+     * partition count leaves the extra consumers idle.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> translationBatchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(translationConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(translationConcurrency);
+        // A failed batch (database or dead-letter send error) is redelivered; the UPDATE is idempotent
+        ExponentialBackOff backOff = new ExponentialBackOff(1000L, 2.0);
+        backOff.setMaxInterval(30000L);
+        backOff.setMaxElapsedTime(300000L); // Then the batch is logged and skipped
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+
+    /**
+     * Record listener factory for reference data invalidations. Listeners assign the partition
+     * themselves and run without a group ID, so every replica receives every message.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> referenceDataListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(broadcastConsumerProperties(bootstrapServers)));
+        // Without a group there is nowhere to commit to; the listener never acknowledges
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * Consumer settings for group-less broadcast listeners: no committed offsets, so each
+     * start reads from the end of the topic. Changes made before startup are already in
+     * the freshly loaded caches.
+     */
+    public static Map<String, Object> broadcastConsumerProperties(String bootstrapServers) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return configProps;
+    }
+}
@@ -12,6 +12,15 @@ public class KafkaTopicConfig {
     @Value("${app.kafka.topic.document-created}")
     private String documentCreatedTopic;
 
+    @Value("${app.kafka.topic.translation-result-dlt}")
+    private String translationResultDltTopic;
+
+    @Value("${app.kafka.topic.reference-data-changed}")
+    private String referenceDataChangedTopic;
+
+    @Value("${app.kafka.topic.title-index-changed}")
+    private String titleIndexChangedTopic;
+
     @Bean
     public NewTopic documentEventsTopic() {
         // Configure partitions, replicas as needed
@@ -20,4 +29,31 @@ public class KafkaTopicConfig {
                 .replicas(1)   // Depends on your Kafka cluster setup
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic translationResultDltTopic() {
+        // Translation results that could not be applied (unknown document, malformed message)
+        return TopicBuilder.name(translationResultDltTopic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic referenceDataChangedTopic() {
+        // Cache invalidations for categories/departments, read by every replica
+        return TopicBuilder.name(referenceDataChangedTopic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic titleIndexChangedTopic() {
+        // Autocomplete index updates, read by every replica; one partition keeps them in commit order
+        return TopicBuilder.name(titleIndexChangedTopic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.document_service.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Work that stays on platform threads when {@code spring.threads.virtual.enabled} is set.
+ * <p>
+ * The only scheduled job is the outbox relay, which sends through the Kafka producer. The producer
+ * waits for topic metadata inside synchronized code (up to max.block.ms), which would pin the carrier
+ * of a virtual thread, so @Scheduled methods get their own platform thread. The scheduler is not a
+ * bean on purpose: an Executor bean would replace Boot's applicationTaskExecutor, which serves
+ * MVC async requests on virtual threads in that mode.
+ * <p>
+ * The Kafka listener containers (KafkaConsumerConfig) are built without Boot's configurer and
+ * already run their consumers on platform threads.
+ */
+@Configuration
+public class ThreadingConfig implements SchedulingConfigurer {
+
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public ThreadingConfig() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.initialize();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(scheduler);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+}
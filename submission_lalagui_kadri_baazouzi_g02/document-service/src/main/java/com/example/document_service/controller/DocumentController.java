@@ -1,21 +1,41 @@
 package com.example.document_service.controller;
 
+import com.example.document_service.dto.BulkDocumentCreateRequestDto;
+import com.example.document_service.dto.BulkDocumentCreateResultDto;
+import com.example.document_service.dto.CursorPageDto;
+import com.example.document_service.dto.DocumentFileRef;
 import com.example.document_service.dto.DocumentCreateRequestDto;
+import com.example.document_service.dto.DocumentExportFilter;
 import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.dto.DocumentWithETag;
+import com.example.document_service.dto.DownloadUrlDto;
+import com.example.document_service.dto.DownloadUrlsRequestDto;
+import com.example.document_service.dto.TitleSuggestionDto;
 import com.example.document_service.dto.TranslateRequestDto;
+import com.example.document_service.service.DocumentExportService;
 import com.example.document_service.service.DocumentService;
+import com.example.document_service.service.StorageServiceClient;
 import com.example.document_service.service.UserDepartmentService;
+import com.example.document_service.util.DepartmentIdSet;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +49,10 @@ public class DocumentController {
     private final DocumentService documentService;
     private final ControllerUtils controllerUtils; // Helper for user context
     private final UserDepartmentService userDepartmentService;
+    private final StorageServiceClient storageServiceClient;
+    private final DocumentExportService documentExportService;
+
+    private static final int MAX_SCROLL_SIZE = 100;
 
     @PostMapping
     @PreAuthorize("hasRole('USER')") // Only users can create documents
@@ -38,19 +62,40 @@ public class DocumentController {
         return new ResponseEntity<>(createdDocument, HttpStatus.CREATED);
     }
 
+    // Creates up to 500 documents in one transaction. 201 if every item was created,
+    // 207 with the per-item results otherwise.
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BulkDocumentCreateResultDto> createDocuments(@Valid @RequestBody BulkDocumentCreateRequestDto bulkRequestDto) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        BulkDocumentCreateResultDto result = documentService.createDocuments(bulkRequestDto.documents(), currentUserId);
+        HttpStatus status = result.failedCount() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(result, status);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')") // Users or Admins can view specific documents
-    public ResponseEntity<DocumentViewDto> getDocumentById(@PathVariable Long id) {
+    public ResponseEntity<DocumentViewDto> getDocumentById(@PathVariable Long id, WebRequest webRequest) {
         String currentUserId = controllerUtils.getCurrentUserId();
         var currentUserRoles = controllerUtils.getCurrentUserRoles();
-        DocumentViewDto document = documentService.getDocumentById(id, currentUserId, currentUserRoles);
-        return ResponseEntity.ok(document);
+        // Only a client that holds a version pays for the extra lookup; 304 skips the full read
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(documentService.getDocumentETag(id, currentUserId, currentUserRoles))) {
+            return null;
+        }
+        DocumentWithETag document = documentService.getDocumentWithETag(id, currentUserId, currentUserRoles);
+        return ResponseEntity.ok().eTag(document.eTag()).body(document.document());
     }
 
     @GetMapping
     @PreAuthorize("hasRole('USER')") // Users see documents based on their departments
-    public ResponseEntity<Page<DocumentViewDto>> getMyDocuments(@PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+    public ResponseEntity<Page<DocumentViewDto>> getMyDocuments(@PageableDefault(size = 20, sort = "createdAt") Pageable pageable,
+                                                                WebRequest webRequest) {
          String currentUserId = controllerUtils.getCurrentUserId();
+        // Fingerprint first (count + latest update), so an unchanged page is a 304 without the page query
+        if (webRequest.checkNotModified(documentService.getDocumentsForUserETag(currentUserId, pageable))) {
+            return null;
+        }
         Page<DocumentViewDto> documents = documentService.findDocumentsForUser(currentUserId, pageable);
         return ResponseEntity.ok(documents);
     }
@@ -60,14 +105,15 @@ public class DocumentController {
     @PreAuthorize("hasRole('USER')") 
     public ResponseEntity<Page<DocumentViewDto>> getDocumentsByDepartment(
             @PathVariable Long departmentId,
-            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable,
+            WebRequest webRequest) {
         
         String currentUserId = controllerUtils.getCurrentUserId();
         var currentUserRoles = controllerUtils.getCurrentUserRoles();
         
         // Check if user has access to the department (admin can access all)
         if (!currentUserRoles.contains("ROLE_ADMIN")) {
-            List<Long> userDepartmentIds = userDepartmentService.getUserDepartmentIds(currentUserId);
+            DepartmentIdSet userDepartmentIds = userDepartmentService.getUserDepartmentIdSet(currentUserId);
             
             if (!userDepartmentIds.contains(departmentId)) {
                 log.warn("User {} attempted to access documents in department {} they don't have access to", 
@@ -76,18 +122,111 @@ public class DocumentController {
             }
         }
         
+        if (webRequest.checkNotModified(documentService.getDocumentsByDepartmentETag(departmentId, pageable))) {
+            return null;
+        }
         Page<DocumentViewDto> documents = documentService.findDocumentsByDepartment(departmentId, pageable);
         return ResponseEntity.ok(documents);
     }
 
+    // Ranked title search (English and Spanish) within the caller's departments
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<DocumentViewDto>> searchDocuments(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int size) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        var currentUserRoles = controllerUtils.getCurrentUserRoles();
+        return ResponseEntity.ok(documentService.searchDocuments(q, currentUserId, currentUserRoles, clampScrollSize(size)));
+    }
+
+    // Title typeahead, served from memory; returns an empty list for a blank prefix
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<TitleSuggestionDto>> autocompleteTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int size) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        var currentUserRoles = controllerUtils.getCurrentUserRoles();
+        return ResponseEntity.ok(documentService.autocompleteTitles(prefix, currentUserId, currentUserRoles, clampScrollSize(size)));
+    }
+
     // Optional: Endpoint for Admin to see all documents
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<DocumentViewDto>> getAllDocuments(@PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+    public ResponseEntity<Page<DocumentViewDto>> getAllDocuments(@PageableDefault(size = 20, sort = "createdAt") Pageable pageable,
+                                                                 WebRequest webRequest) {
+        if (webRequest.checkNotModified(documentService.getAllDocumentsETag(pageable))) {
+            return null;
+        }
         Page<DocumentViewDto> documents = documentService.findAllDocuments(pageable);
         return ResponseEntity.ok(documents);
     }
 
+    // Full catalog export for admins, streamed as NDJSON (default) or CSV from a database cursor.
+    // Memory use is constant however many documents match; 'from' is inclusive, 'to' exclusive.
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDocuments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        DocumentExportService.Format exportFormat = DocumentExportService.Format.parse(format);
+        DocumentExportFilter filter = new DocumentExportFilter(departmentId, categoryId, from, to);
+        log.info("User {} is exporting documents as {} with filter {}", controllerUtils.getCurrentUserId(), exportFormat, filter);
+
+        MediaType contentType = exportFormat == DocumentExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = "documents." + (exportFormat == DocumentExportService.Format.CSV ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(out -> documentExportService.export(filter, exportFormat, out));
+    }
+
+    // --- Cursor-paginated variants of the listings above ---
+    // Return an opaque nextCursor instead of page numbers and skip the total count,
+    // so latency stays flat however deep the client scrolls.
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPageDto<DocumentViewDto>> scrollMyDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        return ResponseEntity.ok(documentService.scrollDocumentsForUser(currentUserId, cursor, clampScrollSize(size)));
+    }
+
+    @GetMapping("/department/{departmentId}/scroll")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPageDto<DocumentViewDto>> scrollDocumentsByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        var currentUserRoles = controllerUtils.getCurrentUserRoles();
+
+        if (!currentUserRoles.contains("ROLE_ADMIN")
+                && !userDepartmentService.getUserDepartmentIdSet(currentUserId).contains(departmentId)) {
+            log.warn("User {} attempted to access documents in department {} they don't have access to",
+                    currentUserId, departmentId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(documentService.scrollDocumentsByDepartment(departmentId, cursor, clampScrollSize(size)));
+    }
+
+    @GetMapping("/all/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageDto<DocumentViewDto>> scrollAllDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(documentService.scrollAllDocuments(cursor, clampScrollSize(size)));
+    }
+
     @GetMapping("/{id}/download")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     public ResponseEntity<Map<String, String>> getDocumentDownloadUrl(@PathVariable Long id) {
@@ -112,6 +251,41 @@ public class DocumentController {
         return ResponseEntity.ok(response);
     }
 
+    // One-hop download: checks access and redirects straight to the presigned object URL,
+    // replacing the /download + /api/storage/presigned-url round trips
+    @GetMapping("/{id}/content")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Map<String, String>> downloadDocumentContent(@PathVariable Long id) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        var currentUserRoles = controllerUtils.getCurrentUserRoles();
+
+        DocumentFileRef file = documentService.getAccessibleFileRef(id, currentUserId, currentUserRoles);
+        String url;
+        try {
+            url = storageServiceClient.getPresignedUrl(file.s3FileKey());
+        } catch (Exception e) {
+            log.error("Error generating presigned URL for document {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                    .body(Map.of("error", "Failed to generate download URL"));
+        }
+
+        log.info("Redirecting user {} to the file of document {}", currentUserId, id);
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(url))
+                .cacheControl(CacheControl.noStore()) // The presigned URL expires, so the redirect must not be cached
+                .build();
+    }
+
+    // Presigned download URLs for a page of documents in one call, instead of one
+    // download + presigned-url round trip per document. Per-item errors are reported inline.
+    @PostMapping("/download-urls")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<DownloadUrlDto>> getDownloadUrls(@Valid @RequestBody DownloadUrlsRequestDto requestDto) {
+        String currentUserId = controllerUtils.getCurrentUserId();
+        var currentUserRoles = controllerUtils.getCurrentUserRoles();
+        return ResponseEntity.ok(documentService.getDownloadUrls(requestDto.documentIds(), currentUserId, currentUserRoles));
+    }
+
     @PatchMapping("/{id}/translate")
     // This endpoint is called internally by the Translation Service.
     // Secure it appropriately (e.g., require an API key, internal network access, or a specific service role if using mutual auth)
@@ -131,6 +305,10 @@ public class DocumentController {
         return ResponseEntity.noContent().build();
     }
 
+    private static int clampScrollSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
+
     // Add PUT endpoint for admin editing if needed
     // @PutMapping("/{id}")
     // @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,28 @@
+package com.example.document_service.controller;
+
+import com.example.document_service.dto.DepartmentMembershipDto;
+import com.example.document_service.service.UserDepartmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service-to-service endpoints. The gateway has no route for /internal/**, so these are
+ * only reachable from inside the Docker network.
+ */
+@RestController
+@RequestMapping("/internal/users")
+@RequiredArgsConstructor
+public class InternalUserDepartmentController {
+
+    private final UserDepartmentService userDepartmentService;
+
+    // Source of the gateway's signed X-User-Departments header
+    @GetMapping("/{userId}/department-membership")
+    public ResponseEntity<DepartmentMembershipDto> getDepartmentMembership(@PathVariable String userId) {
+        return ResponseEntity.ok(userDepartmentService.getDepartmentMembership(userId));
+    }
+}
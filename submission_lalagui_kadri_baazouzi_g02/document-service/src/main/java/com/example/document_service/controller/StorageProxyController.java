@@ -1,29 +1,23 @@
 package com.example.document_service.controller;
 
+import com.example.document_service.exception.UploadTooLargeException;
+import com.example.document_service.service.StorageServiceClient;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.client.HttpClientErrorException;
 
-import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,13 +32,14 @@ import java.util.Map;
 public class StorageProxyController {
 
     private final ControllerUtils controllerUtils;
-    private final RestTemplate restTemplate;
-    
-    @Value("${storage.service.url:http://storage-service:8002}")
-    private String storageServiceUrl;
+    private final StorageServiceClient storageServiceClient;
+
+    @Value("${storage.upload.max-size:1GB}")
+    private DataSize maxUploadSize;
 
     /**
-     * Get a presigned URL for downloading a document
+     * Get a presigned URL for downloading a document.
+     * URLs are cached by StorageServiceClient until shortly before they expire.
      * 
      * @param s3FileKey The S3 file key to download
      * @return A response containing the presigned URL
@@ -56,33 +51,14 @@ public class StorageProxyController {
             // Get the current user (for audit purposes)
             String currentUserId = controllerUtils.getCurrentUserId();
             log.info("User {} is requesting presigned URL for file: {}", currentUserId, s3FileKey);
-            
-            // Encode the s3FileKey to handle special characters in the path
-            String encodedS3FileKey = URLEncoder.encode(s3FileKey, StandardCharsets.UTF_8.toString());
-            
-            // Forward the request to the storage service
-            String storageServiceEndpoint = storageServiceUrl + "/presigned-url/" + encodedS3FileKey;
-            log.debug("Forwarding request to storage service: {}", storageServiceEndpoint);
-            
-            ResponseEntity<Map> responseEntity = restTemplate.getForEntity(
-                    storageServiceEndpoint, 
-                    Map.class);
-            
-            if (responseEntity.getStatusCode().is2xxSuccessful() && responseEntity.getBody() != null) {
-                log.info("Successfully retrieved presigned URL for file: {}", s3FileKey);
-                
-                // Extract the URL from the response
-                String url = (String) responseEntity.getBody().get("url");
-                
-                // Return a simplified response
-                Map<String, String> response = new HashMap<>();
-                response.put("url", url);
-                return ResponseEntity.ok(response);
-            } else {
-                log.error("Error retrieving presigned URL from storage service: {}", responseEntity.getStatusCode());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(Map.of("error", "Failed to retrieve download URL"));
-            }
+
+            String url = storageServiceClient.getPresignedUrl(s3FileKey);
+            log.info("Successfully retrieved presigned URL for file: {}", s3FileKey);
+
+            // Return a simplified response
+            Map<String, String> response = new HashMap<>();
+            response.put("url", url);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error generating presigned URL for file: {}", s3FileKey, e);
             Map<String, String> errorResponse = new HashMap<>();
@@ -92,57 +68,54 @@ public class StorageProxyController {
     }
     
     /**
-     * Upload a file to the storage service
-     * 
-     * @param file The file to upload
+     * Upload a file to the storage service.
+     * The multipart body (with a "file" part) is relayed as it arrives instead of being parsed and
+     * buffered here, so memory use per upload is one chunk regardless of the file size.
+     *
+     * @param request The raw multipart/form-data request
      * @return A response containing the uploaded file's S3 key
      */
     @PostMapping("/upload")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Map<String, Object>> uploadFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, Object>> uploadFile(HttpServletRequest request) {
         try {
             // Get the current user (for audit purposes)
             String currentUserId = controllerUtils.getCurrentUserId();
-            log.info("User {} is uploading file: {}, size: {}", currentUserId, file.getOriginalFilename(), file.getSize());
-            
-            // Forward the request to the storage service
-            String storageServiceEndpoint = storageServiceUrl + "/upload/";
-            log.debug("Forwarding upload request to storage service: {}", storageServiceEndpoint);
-            
-            // Create multipart request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            ByteArrayResource fileResource = new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            };
-            body.add("file", fileResource);
-            
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-            
-            // Send the request to the storage service
-            ResponseEntity<Map> responseEntity = restTemplate.postForEntity(
-                    storageServiceEndpoint,
-                    requestEntity,
-                    Map.class);
-            
+            long contentLength = request.getContentLengthLong();
+            log.info("User {} is uploading a file, request size: {}", currentUserId, contentLength);
+
+            MediaType contentType = request.getContentType() == null ? null : MediaType.parseMediaType(request.getContentType());
+            if (contentType == null || !MediaType.MULTIPART_FORM_DATA.includes(contentType)) {
+                return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                        .body(Map.of("error", "Expected a multipart/form-data request with a 'file' part"));
+            }
+            // Rejects a declared oversize body up front; chunked bodies are capped while relayed
+            if (contentLength > maxUploadSize.toBytes()) {
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                        .body(Map.of("error", "File exceeds the maximum upload size of " + maxUploadSize));
+            }
+
+            ResponseEntity<Map> responseEntity = storageServiceClient.streamUpload(
+                    request.getInputStream(), contentType, contentLength, maxUploadSize.toBytes());
+
             if (responseEntity.getStatusCode().is2xxSuccessful() && responseEntity.getBody() != null) {
-                log.info("Successfully uploaded file {} to storage service", file.getOriginalFilename());
+                log.info("Successfully uploaded file to storage service: {}", responseEntity.getBody());
                 return ResponseEntity.ok(responseEntity.getBody());
             } else {
                 log.error("Error uploading file to storage service: {}", responseEntity.getStatusCode());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                         .body(Map.of("error", "Failed to upload file"));
             }
-        } catch (IOException e) {
-            log.error("Error reading file for upload: {}", e.getMessage(), e);
+        } catch (UploadTooLargeException e) {
+            log.warn("Upload aborted: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "File exceeds the maximum upload size of " + maxUploadSize));
+        } catch (HttpClientErrorException e) {
+            // e.g. no 'file' part: report the storage service's rejection instead of a 500
+            log.warn("Storage service rejected upload: {}", e.getStatusCode());
             Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Failed to read file: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            errorResponse.put("error", "Upload rejected by storage service: " + e.getStatusText());
+            return ResponseEntity.status(e.getStatusCode()).body(errorResponse);
         } catch (Exception e) {
             log.error("Error uploading file: {}", e.getMessage(), e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -150,4 +123,4 @@ public class StorageProxyController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.example.document_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Request body for bulk document creation.
+// Items are validated one by one so that a bad item fails alone instead of rejecting the batch.
+public record BulkDocumentCreateRequestDto(
+    @NotEmpty(message = "At least one document is required")
+    @Size(max = 500, message = "At most 500 documents can be created per request")
+    List<DocumentCreateRequestDto> documents
+) {}
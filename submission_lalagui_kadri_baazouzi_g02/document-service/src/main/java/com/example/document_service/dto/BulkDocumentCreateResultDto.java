@@ -0,0 +1,10 @@
+package com.example.document_service.dto;
+
+import java.util.List;
+
+// Response of bulk document creation, with one result per request item in request order
+public record BulkDocumentCreateResultDto(
+    int createdCount,
+    int failedCount,
+    List<BulkItemResultDto> results
+) {}
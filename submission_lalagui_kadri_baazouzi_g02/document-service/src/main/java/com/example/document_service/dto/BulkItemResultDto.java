@@ -0,0 +1,17 @@
+package com.example.document_service.dto;
+
+// Outcome of one item of a bulk create request
+public record BulkItemResultDto(
+    int index, // Position of the item in the request
+    boolean created,
+    DocumentViewDto document, // Null if not created
+    String error // Null if created
+) {
+    public static BulkItemResultDto created(int index, DocumentViewDto document) {
+        return new BulkItemResultDto(index, true, document, null);
+    }
+
+    public static BulkItemResultDto failed(int index, String error) {
+        return new BulkItemResultDto(index, false, null, error);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.document_service.dto;
+
+import java.util.List;
+
+// One page of a cursor-paginated listing. Pass nextCursor back to get the following page.
+// There is deliberately no total count: computing it is what makes deep offset pages slow.
+public record CursorPageDto<T>(
+        List<T> content,
+        int size, // Requested page size
+        String nextCursor, // Null when this is the last page
+        boolean hasNext
+) {}
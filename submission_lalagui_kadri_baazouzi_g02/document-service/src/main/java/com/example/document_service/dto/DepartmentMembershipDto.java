@@ -0,0 +1,9 @@
+package com.example.document_service.dto;
+
+import java.util.List;
+
+// A user's department IDs as read for the gateway's signed membership header
+public record DepartmentMembershipDto(
+        List<Long> departmentIds, // Ascending
+        long asOf // Epoch millis taken before the read; the header's version stamp
+) {}
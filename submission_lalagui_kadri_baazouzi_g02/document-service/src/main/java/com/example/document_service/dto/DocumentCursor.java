@@ -0,0 +1,46 @@
+package com.example.document_service.dto;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+
+// Position in a (createdAt, id) ordered document listing.
+// Clients only ever see the encoded form, which is opaque to them.
+public record DocumentCursor(
+        Instant createdAt,
+        long id
+) {
+    // Position before the first document, used when no cursor is supplied
+    public static final DocumentCursor START = new DocumentCursor(Instant.EPOCH, 0L);
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @param cursor An encoded cursor, or null/blank for the first page
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static DocumentCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant createdAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return new DocumentCursor(createdAt, buffer.getLong());
+        } catch (RuntimeException e) { // Bad Base64, or seconds/nanos out of range
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
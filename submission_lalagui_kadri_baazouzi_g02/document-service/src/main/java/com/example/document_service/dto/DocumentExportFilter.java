@@ -0,0 +1,11 @@
+package com.example.document_service.dto;
+
+import java.time.Instant;
+
+// Optional filters for the document export; null means "no restriction"
+public record DocumentExportFilter(
+    Long departmentId,
+    Long categoryId,
+    Instant createdFrom, // Inclusive
+    Instant createdTo // Exclusive
+) {}
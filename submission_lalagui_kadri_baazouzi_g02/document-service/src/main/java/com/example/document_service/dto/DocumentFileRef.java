@@ -0,0 +1,9 @@
+package com.example.document_service.dto;
+
+// The columns needed to authorize and locate a document's file, read without loading the entity
+public record DocumentFileRef(
+    Long id,
+    Long departmentId,
+    String s3FileKey,
+    String fileName
+) {}
@@ -0,0 +1,13 @@
+package com.example.document_service.dto;
+
+import java.time.Instant;
+
+// What a document's ETag is built from, plus its department for the access check. The category
+// and department stamps cover renames, since the view shows their names.
+public record DocumentVersion(
+    Long id,
+    Long departmentId,
+    Instant updatedAt,
+    Instant categoryUpdatedAt,
+    Instant departmentUpdatedAt
+) {}
@@ -0,0 +1,7 @@
+package com.example.document_service.dto;
+
+// A document view and its ETag, taken from the same read so the two always match
+public record DocumentWithETag(
+    DocumentViewDto document,
+    String eTag
+) {}
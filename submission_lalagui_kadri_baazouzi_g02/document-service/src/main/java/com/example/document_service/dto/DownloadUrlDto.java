@@ -0,0 +1,17 @@
+package com.example.document_service.dto;
+
+// Download URL for one requested document, in request order
+public record DownloadUrlDto(
+    Long documentId,
+    String fileName, // Null if the document was not found or is not accessible
+    String url, // Presigned object URL, null on error
+    String error // Null on success
+) {
+    public static DownloadUrlDto of(Long documentId, String fileName, String url) {
+        return new DownloadUrlDto(documentId, fileName, url, null);
+    }
+
+    public static DownloadUrlDto failed(Long documentId, String error) {
+        return new DownloadUrlDto(documentId, null, null, error);
+    }
+}
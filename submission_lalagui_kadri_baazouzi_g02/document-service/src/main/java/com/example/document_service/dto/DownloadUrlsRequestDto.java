@@ -0,0 +1,14 @@
+package com.example.document_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Request body for fetching download URLs for a page of documents
+public record DownloadUrlsRequestDto(
+    @NotEmpty(message = "At least one document ID is required")
+    @Size(max = 100, message = "At most 100 download URLs can be requested at once")
+    List<@NotNull Long> documentIds
+) {}
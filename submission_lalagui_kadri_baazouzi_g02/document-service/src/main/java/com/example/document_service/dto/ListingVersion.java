@@ -0,0 +1,13 @@
+package com.example.document_service.dto;
+
+import java.time.Instant;
+
+// Cheap fingerprint of a document listing: any create, update or delete within the listing's
+// filter changes the count or the latest update time, and renaming a category or department
+// shown in it changes the latest update time of the joined rows
+public record ListingVersion(
+    Long count,
+    Instant lastUpdatedAt, // Null for an empty listing
+    Instant categoriesUpdatedAt,
+    Instant departmentsUpdatedAt
+) {}
@@ -0,0 +1,10 @@
+package com.example.document_service.dto;
+
+import java.time.Instant;
+
+// A presigned object URL from the storage service and the moment it stops working
+public record PresignedUrl(
+        String url,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.document_service.dto;
+
+// Broadcast to every document-service replica (and the read application) when cached data changes,
+// so each one drops its copy. 'cache' is "categories", "departments" or "user-departments".
+public record ReferenceDataChangedEvent(
+    String cache,
+    String key // User ID for "user-departments", null for the whole-table caches
+) {
+    public static final String CATEGORIES = "categories";
+    public static final String DEPARTMENTS = "departments";
+    public static final String USER_DEPARTMENTS = "user-departments";
+}
@@ -0,0 +1,27 @@
+package com.example.document_service.dto;
+
+// Broadcast to every document-service replica after a committed create, translation or delete,
+// so each one applies it to its TitleAutocompleteIndex. 'change' is "put", "title-es" or "remove".
+public record TitleIndexChangedEvent(
+    String change,
+    long documentId,
+    Long departmentId, // Only for "put"
+    String titleEn,    // Only for "put"
+    String titleEs     // For "put" (may be null) and "title-es"
+) {
+    public static final String PUT = "put";
+    public static final String TITLE_ES = "title-es";
+    public static final String REMOVE = "remove";
+
+    public static TitleIndexChangedEvent put(long documentId, long departmentId, String titleEn, String titleEs) {
+        return new TitleIndexChangedEvent(PUT, documentId, departmentId, titleEn, titleEs);
+    }
+
+    public static TitleIndexChangedEvent titleEs(long documentId, String titleEs) {
+        return new TitleIndexChangedEvent(TITLE_ES, documentId, null, null, titleEs);
+    }
+
+    public static TitleIndexChangedEvent remove(long documentId) {
+        return new TitleIndexChangedEvent(REMOVE, documentId, null, null, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.document_service.dto;
+
+// One autocomplete match; either title may be the one that matched the prefix
+public record TitleSuggestionDto(
+    Long documentId,
+    String titleEn,
+    String titleEs // Can be null if not translated yet
+) {}
@@ -1,5 +1,6 @@
 package com.example.document_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +9,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TranslationResultDto {
+    @JsonAlias("doc_id") // Field names used by the translation service
     private String docId;
+    @JsonAlias("translated_title")
     private String translatedTitle;
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.example.document_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class UploadTooLargeException extends RuntimeException {
+    public UploadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -8,12 +8,18 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+        // Keyset (cursor) pagination seeks on (created_at, id)
+        @Index(name = "idx_documents_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_documents_department_created_at_id", columnList = "department_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 public class Document {
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts (bulk create)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_id_seq")
+    @SequenceGenerator(name = "document_id_seq", sequenceName = "document_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
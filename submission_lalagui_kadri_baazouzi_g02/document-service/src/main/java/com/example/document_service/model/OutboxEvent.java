@@ -0,0 +1,50 @@
+package com.example.document_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.Instant;
+
+// Kafka message written in the same transaction as the change it describes.
+// OutboxRelay publishes pending rows and deletes them once the broker has acknowledged them.
+@Entity
+@Table(name = "document_outbox", indexes = {
+        @Index(name = "idx_document_outbox_next_attempt", columnList = "next_attempt_at, id"),
+        @Index(name = "idx_document_outbox_topic_key_id", columnList = "topic, message_key, id")
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Publish order
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(nullable = false)
+    private String messageKey; // Kafka key, e.g. the document ID (keeps per-document ordering)
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload; // JSON body of the message
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt; // Pushed back while a relay holds the event and after each failed attempt
+
+    @CreationTimestamp
+    private Instant createdAt;
+
+    public OutboxEvent(String topic, String messageKey, String payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.nextAttemptAt = Instant.now();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.document_service.repository;
+
+import com.example.document_service.dto.DocumentExportFilter;
+import com.example.document_service.dto.DocumentViewDto;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only read of document metadata for exports. Rows are fetched from the server
+ * {@code fetch-size} at a time and handed to the consumer one by one, so memory use does not
+ * depend on the number of rows. Must be called inside a transaction: PostgreSQL only uses a
+ * cursor (instead of reading the whole result) when auto-commit is off.
+ */
+@Timed(value = "document.repository", description = "JDBC document query latency")
+@Repository
+public class DocumentExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public DocumentExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void forEach(DocumentExportFilter filter, Consumer<DocumentViewDto> consumer) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(DocumentViewRows.SELECT).append(" WHERE 1 = 1");
+        if (filter.departmentId() != null) {
+            sql.append(" AND d.department_id = ?");
+            args.add(filter.departmentId());
+        }
+        if (filter.categoryId() != null) {
+            sql.append(" AND d.category_id = ?");
+            args.add(filter.categoryId());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND d.created_at >= ?");
+            args.add(Timestamp.from(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND d.created_at < ?");
+            args.add(Timestamp.from(filter.createdTo()));
+        }
+        sql.append(" ORDER BY d.id");
+
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(DocumentViewRows.MAPPER.mapRow(rs, rs.getRow())));
+    }
+}
@@ -1,4 +1,8 @@
 package com.example.document_service.repository;
+import com.example.document_service.dto.DocumentFileRef;
+import com.example.document_service.dto.DocumentVersion;
+import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.dto.ListingVersion;
 import com.example.document_service.model.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -6,26 +10,90 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+    // --- Read-only listings ---
+    // Select straight into DocumentViewDto: only the displayed columns are read, and nothing is
+    // put in the persistence context or dirty-checked. Page sorting is applied to alias 'd'.
+    String VIEW_SELECT = "SELECT new com.example.document_service.dto.DocumentViewDto(" +
+            "d.id, d.titleEn, d.titleEs, d.s3FileKey, d.fileName, d.fileType, d.fileSize," +
+            " c.name, dep.name, d.ownerUserId, d.createdAt, d.updatedAt)" +
+            " FROM Document d JOIN d.category c JOIN d.department dep";
+
     // Find documents belonging to specific departments (for user filtering)
-    // Use JOIN FETCH to avoid N+1 queries when accessing category/department names later
-    @Query("SELECT d FROM Document d JOIN FETCH d.category JOIN FETCH d.department WHERE d.department.id IN :departmentIds")
-    Page<Document> findByDepartmentIdIn(List<Long> departmentIds, Pageable pageable);
-    
+    @Query(value = VIEW_SELECT + " WHERE d.department.id IN :departmentIds",
+            countQuery = "SELECT COUNT(d) FROM Document d WHERE d.department.id IN :departmentIds")
+    Page<DocumentViewDto> findViewsByDepartmentIdIn(List<Long> departmentIds, Pageable pageable);
+
     // Find documents belonging to a specific department
-    @Query("SELECT d FROM Document d JOIN FETCH d.category JOIN FETCH d.department WHERE d.department.id = :departmentId")
-    Page<Document> findByDepartmentId(Long departmentId, Pageable pageable);
+    @Query(value = VIEW_SELECT + " WHERE d.department.id = :departmentId",
+            countQuery = "SELECT COUNT(d) FROM Document d WHERE d.department.id = :departmentId")
+    Page<DocumentViewDto> findViewsByDepartmentId(Long departmentId, Pageable pageable);
 
     // Optional: Find all (for admin)
-    @Query("SELECT d FROM Document d JOIN FETCH d.category JOIN FETCH d.department")
-    Page<Document> findAllWithDetails(Pageable pageable);
+    @Query(value = VIEW_SELECT, countQuery = "SELECT COUNT(d) FROM Document d")
+    Page<DocumentViewDto> findAllViews(Pageable pageable);
+
+    // Keys among the given ones that are already used by a document (bulk create duplicate check)
+    @Query("SELECT d.s3FileKey FROM Document d WHERE d.s3FileKey IN :s3FileKeys")
+    List<String> findExistingS3FileKeys(Collection<String> s3FileKeys);
+
+    // Access and file columns for many documents at once (batch download URLs)
+    @Query("SELECT new com.example.document_service.dto.DocumentFileRef(d.id, d.department.id, d.s3FileKey, d.fileName)" +
+            " FROM Document d WHERE d.id IN :ids")
+    List<DocumentFileRef> findFileRefsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.example.document_service.dto.DocumentFileRef(d.id, d.department.id, d.s3FileKey, d.fileName)" +
+            " FROM Document d WHERE d.id = :id")
+    Optional<DocumentFileRef> findFileRefById(Long id);
+
+    // --- Versions for conditional GETs (ETags) ---
+
+    // Joins the same rows as VIEW_SELECT, so a category or department rename changes the version
+    String LISTING_VERSION_SELECT = "SELECT new com.example.document_service.dto.ListingVersion(" +
+            "COUNT(d), MAX(d.updatedAt), MAX(c.updatedAt), MAX(dep.updatedAt))" +
+            " FROM Document d JOIN d.category c JOIN d.department dep";
+
+    @Query("SELECT new com.example.document_service.dto.DocumentVersion(d.id, dep.id, d.updatedAt, c.updatedAt, dep.updatedAt)" +
+            " FROM Document d JOIN d.category c JOIN d.department dep WHERE d.id = :id")
+    Optional<DocumentVersion> findVersionById(Long id);
+
+    @Query(LISTING_VERSION_SELECT + " WHERE d.department.id IN :departmentIds")
+    ListingVersion findListingVersionByDepartmentIdIn(List<Long> departmentIds);
+
+    @Query(LISTING_VERSION_SELECT + " WHERE d.department.id = :departmentId")
+    ListingVersion findListingVersionByDepartmentId(Long departmentId);
+
+    @Query(LISTING_VERSION_SELECT)
+    ListingVersion findListingVersionOfAll();
 
      // Find specific document with details
     @Query("SELECT d FROM Document d JOIN FETCH d.category JOIN FETCH d.department WHERE d.id = :id")
     Optional<Document> findByIdWithDetails(Long id);
+
+    // --- Keyset (cursor) variants ---
+    // Seek past the last (createdAt, id) seen instead of using OFFSET, and skip the COUNT query.
+    // Pass PageRequest.of(0, limit) as 'limit': only its size is used, the order is fixed below.
+    // The 'createdAt >=' term gives the planner an index range start; the OR breaks ties on id.
+
+    @Query(VIEW_SELECT + " WHERE d.department.id IN :departmentIds" +
+            " AND d.createdAt >= :createdAt AND (d.createdAt > :createdAt OR d.id > :id)" +
+            " ORDER BY d.createdAt ASC, d.id ASC")
+    List<DocumentViewDto> findViewsByDepartmentIdInAfter(List<Long> departmentIds, Instant createdAt, Long id, Pageable limit);
+
+    @Query(VIEW_SELECT + " WHERE d.department.id = :departmentId" +
+            " AND d.createdAt >= :createdAt AND (d.createdAt > :createdAt OR d.id > :id)" +
+            " ORDER BY d.createdAt ASC, d.id ASC")
+    List<DocumentViewDto> findViewsByDepartmentIdAfter(Long departmentId, Instant createdAt, Long id, Pageable limit);
+
+    @Query(VIEW_SELECT +
+            " WHERE d.createdAt >= :createdAt AND (d.createdAt > :createdAt OR d.id > :id)" +
+            " ORDER BY d.createdAt ASC, d.id ASC")
+    List<DocumentViewDto> findAllViewsAfter(Instant createdAt, Long id, Pageable limit);
 }
\ No newline at end of file
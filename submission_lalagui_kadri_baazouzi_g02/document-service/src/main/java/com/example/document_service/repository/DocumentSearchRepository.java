@@ -0,0 +1,95 @@
+package com.example.document_service.repository;
+
+import com.example.document_service.dto.DocumentViewDto;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Title search over titleEn and titleEs.
+ * On PostgreSQL this matches against the generated, GIN-indexed documents.title_search column
+ * (see DataInitializer) and ranks with ts_rank. Other databases (the H2 test setup) fall back to
+ * an unranked, case-insensitive substring match.
+ */
+@Timed(value = "document.repository", description = "JDBC document query latency")
+@Repository
+public class DocumentSearchRepository {
+
+    // Stems the query as English and as Spanish, so either title can match
+    private static final String TS_QUERY = "(websearch_to_tsquery('english', ?) || websearch_to_tsquery('spanish', ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres; // Resolved on first search
+
+    public DocumentSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param query         User input; PostgreSQL accepts web search syntax ("quoted phrase", -excluded, or)
+     * @param departmentIds Departments to search in, or null for all departments
+     * @param limit         Maximum number of results
+     * @return Best matches first
+     */
+    public List<DocumentViewDto> search(String query, List<Long> departmentIds, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(DocumentViewRows.SELECT);
+        if (isPostgres()) {
+            sql.append(" WHERE d.title_search @@ ").append(TS_QUERY);
+            args.add(query);
+            args.add(query);
+        } else {
+            String pattern = "%" + escapeLike(query.toLowerCase(Locale.ROOT)) + "%";
+            sql.append(" WHERE (LOWER(d.title_en) LIKE ? ESCAPE '!' OR LOWER(d.title_es) LIKE ? ESCAPE '!')");
+            args.add(pattern);
+            args.add(pattern);
+        }
+        if (departmentIds != null) {
+            sql.append(" AND d.department_id = ANY (?)");
+            args.add(departmentIds.toArray(new Long[0]));
+        }
+        if (isPostgres()) {
+            sql.append(" ORDER BY ts_rank(d.title_search, ").append(TS_QUERY).append(") DESC, d.created_at DESC, d.id DESC");
+            args.add(query);
+            args.add(query);
+        } else {
+            sql.append(" ORDER BY d.created_at DESC, d.id DESC");
+        }
+        sql.append(" LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql.toString());
+            for (int i = 0; i < args.size(); i++) {
+                Object arg = args.get(i);
+                if (arg instanceof Long[] ids) {
+                    Array array = connection.createArrayOf("BIGINT", ids);
+                    statement.setArray(i + 1, array);
+                } else {
+                    statement.setObject(i + 1, arg);
+                }
+            }
+            return statement;
+        }, DocumentViewRows.MAPPER);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(database);
+            postgres = result;
+        }
+        return result;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
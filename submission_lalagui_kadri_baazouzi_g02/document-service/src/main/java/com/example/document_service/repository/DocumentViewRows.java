@@ -0,0 +1,36 @@
+package com.example.document_service.repository;
+
+import com.example.document_service.dto.DocumentViewDto;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// Plain-SQL counterpart of DocumentRepository.VIEW_SELECT, for the JDBC-based repositories
+final class DocumentViewRows {
+
+    static final String SELECT = "SELECT d.id, d.title_en, d.title_es, d.s3file_key, d.file_name, d.file_type," +
+            " d.file_size, c.name AS category_name, dep.name AS department_name, d.owner_user_id, d.created_at, d.updated_at" +
+            " FROM documents d JOIN categories c ON c.id = d.category_id JOIN departments dep ON dep.id = d.department_id";
+
+    static final RowMapper<DocumentViewDto> MAPPER = (rs, rowNum) -> new DocumentViewDto(
+            rs.getLong("id"),
+            rs.getString("title_en"),
+            rs.getString("title_es"),
+            rs.getString("s3file_key"),
+            rs.getString("file_name"),
+            rs.getString("file_type"),
+            rs.getObject("file_size", Long.class),
+            rs.getString("category_name"),
+            rs.getString("department_name"),
+            rs.getString("owner_user_id"),
+            toInstant(rs.getTimestamp("created_at")),
+            toInstant(rs.getTimestamp("updated_at")));
+
+    private DocumentViewRows() {
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.document_service.repository;
+import com.example.document_service.model.*;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Next events that are due, oldest first, at most one per topic and message key: an event is only
+    // eligible once every earlier event for the same topic and key is gone, which keeps per-document
+    // order across retries. Rows locked by another relay are skipped (SELECT ... FOR UPDATE SKIP LOCKED),
+    // and rows claimed by another relay are not due until their lease ends (see OutboxRelay),
+    // so several replicas can drain the table at once.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent p WHERE p.topic = e.topic AND p.messageKey = e.messageKey AND p.id < e.id) " +
+           "ORDER BY e.id ASC")
+    List<OutboxEvent> lockNextBatch(Instant now, Pageable limit);
+
+    // Records a failed attempt; a no-op if the row is already gone
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = :attempts, e.lastError = :lastError, e.nextAttemptAt = :nextAttemptAt " +
+           "WHERE e.id = :id")
+    int reschedule(Long id, int attempts, String lastError, Instant nextAttemptAt);
+
+    // Oldest pending event, used for the relay lag metric
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e")
+    Instant findOldestCreatedAt();
+}
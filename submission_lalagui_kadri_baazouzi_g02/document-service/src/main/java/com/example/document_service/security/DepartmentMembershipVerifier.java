@@ -0,0 +1,169 @@
+package com.example.document_service.security;
+
+import com.example.document_service.util.DepartmentIdSet;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Verifies the signed department-membership header the gateway adds next to X-User-Id
+ * (format in the gateway's DepartmentMembershipCodec: version byte, varint stamp, varint count,
+ * delta-encoded department IDs, truncated HMAC-SHA256 bound to the user ID).
+ * <p>
+ * A header is only trusted while it is younger than {@code max-age} and newer than the last
+ * assignment change this instance made for the user; otherwise callers fall back to the
+ * cached/database lookup in UserDepartmentService.
+ */
+@Component
+@Slf4j
+public class DepartmentMembershipVerifier {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 16;
+    private static final int MAX_DEPARTMENTS = 10_000;
+
+    private final Mac prototype; // Cloned per call; null when no secret is configured (headers ignored)
+    private final long maxAgeMillis;
+    private final Cache<String, Long> lastChangeMillis; // Entries older than max-age no longer matter
+
+    private final Counter acceptedCounter;
+    private final Counter invalidCounter;
+    private final Counter expiredCounter;
+    private final Counter staleCounter;
+
+    public DepartmentMembershipVerifier(@Value("${app.auth.membership.secret:}") String secret,
+                                        @Value("${app.auth.membership.max-age:60s}") Duration maxAge,
+                                        MeterRegistry meterRegistry) {
+        this.prototype = secret.isBlank() ? null : initMac(secret);
+        this.maxAgeMillis = maxAge.toMillis();
+        this.lastChangeMillis = Caffeine.newBuilder().expireAfterWrite(maxAge).build();
+
+        this.acceptedCounter = outcomeCounter(meterRegistry, "accepted");
+        this.invalidCounter = outcomeCounter(meterRegistry, "invalid");
+        this.expiredCounter = outcomeCounter(meterRegistry, "expired");
+        this.staleCounter = outcomeCounter(meterRegistry, "stale");
+    }
+
+    /**
+     * @param userId      The user ID the gateway authenticated (X-User-Id)
+     * @param headerValue The membership header, may be null
+     * @return The user's department IDs if the header is authentic and current, empty otherwise
+     */
+    public Optional<DepartmentIdSet> verify(String userId, String headerValue) {
+        if (prototype == null || headerValue == null || headerValue.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            int separator = headerValue.indexOf('.');
+            if (separator < 0) {
+                return reject(invalidCounter, userId, "malformed");
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(headerValue.substring(0, separator));
+            byte[] mac = Base64.getUrlDecoder().decode(headerValue.substring(separator + 1));
+            if (!MessageDigest.isEqual(mac, mac(userId, payload))) {
+                return reject(invalidCounter, userId, "bad signature");
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            if (buffer.get() != FORMAT_VERSION) {
+                return reject(invalidCounter, userId, "unknown format version");
+            }
+            long stamp = readVarint(buffer);
+            if (System.currentTimeMillis() - stamp > maxAgeMillis) {
+                return reject(expiredCounter, userId, "expired");
+            }
+            Long changedAt = lastChangeMillis.getIfPresent(userId);
+            if (changedAt != null && stamp < changedAt) {
+                return reject(staleCounter, userId, "older than the last assignment change");
+            }
+
+            long count = readVarint(buffer);
+            if (count > MAX_DEPARTMENTS) {
+                return reject(invalidCounter, userId, "too many departments");
+            }
+            long[] ids = new long[(int) count];
+            long previous = 0;
+            for (int i = 0; i < ids.length; i++) {
+                previous += readVarint(buffer);
+                ids[i] = previous;
+            }
+            acceptedCounter.increment();
+            return Optional.of(DepartmentIdSet.of(ids));
+        } catch (RuntimeException e) { // Bad Base64, truncated payload, oversized varint
+            return reject(invalidCounter, userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Records that the user's assignments changed now, so membership headers read before this
+     * moment are rejected here. Call again after commit, as the change only becomes visible then.
+     */
+    public void markChanged(String userId) {
+        lastChangeMillis.put(userId, System.currentTimeMillis());
+    }
+
+    private Optional<DepartmentIdSet> reject(Counter counter, String userId, String reason) {
+        counter.increment();
+        log.debug("Ignoring department-membership header for user {}: {}", userId, reason);
+        return Optional.empty();
+    }
+
+    private byte[] mac(String userId, byte[] payload) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " provider does not support clone", e);
+        }
+        mac.update(userId.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        byte[] full = mac.doFinal(payload);
+        byte[] truncated = new byte[MAC_LENGTH];
+        System.arraycopy(full, 0, truncated, 0, MAC_LENGTH);
+        return truncated;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    private static Mac initMac(String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("document.membership.header")
+                .description("Department-membership headers from the gateway, by verification outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.document_service.security;
+
+import com.example.document_service.util.DepartmentIdSet;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Optional;
+
+/**
+ * Request details set by JwtAuthFilter, plus the department IDs from a verified gateway membership header.
+ */
+public class GatewayAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final transient DepartmentIdSet departmentIds; // Null when the request carried no valid header
+
+    public GatewayAuthenticationDetails(HttpServletRequest request, DepartmentIdSet departmentIds) {
+        super(request);
+        this.departmentIds = departmentIds;
+    }
+
+    /**
+     * @return The verified department IDs of the current request, if it is authenticated as {@code userId} and carried them
+     */
+    public static Optional<DepartmentIdSet> currentDepartmentIds(String userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && userId.equals(authentication.getName())
+                && authentication.getDetails() instanceof GatewayAuthenticationDetails details) {
+            return Optional.ofNullable(details.departmentIds);
+        }
+        return Optional.empty();
+    }
+}
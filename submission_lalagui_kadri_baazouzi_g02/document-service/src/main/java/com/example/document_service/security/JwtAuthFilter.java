@@ -1,5 +1,6 @@
 package com.example.document_service.security;
 
+import com.example.document_service.util.DepartmentIdSet;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,6 +28,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private final DepartmentMembershipVerifier membershipVerifier;
+
     // Read header names from application.yml
     @Value("${gateway.auth.headers.user-id}")
     private String userIdHeader;
@@ -34,6 +37,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Value("${gateway.auth.headers.user-roles}")
     private String userRolesHeader;
 
+    @Value("${gateway.auth.headers.user-departments}")
+    private String userDepartmentsHeader;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -91,7 +97,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             // Create Authentication token with userId as the principal
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userId, null, authorities);
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Signed department membership saves the per-request lookup in UserDepartmentService
+            DepartmentIdSet departmentIds = membershipVerifier
+                    .verify(userId, request.getHeader(userDepartmentsHeader))
+                    .orElse(null);
+            authToken.setDetails(new GatewayAuthenticationDetails(request, departmentIds));
             
             // Set authentication in SecurityContext
             SecurityContextHolder.getContext().setAuthentication(authToken);
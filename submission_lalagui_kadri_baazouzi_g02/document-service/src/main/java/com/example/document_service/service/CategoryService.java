@@ -1,13 +1,22 @@
 package com.example.document_service.service;
 
 import com.example.document_service.dto.CategoryDto;
+import com.example.document_service.dto.ReferenceDataChangedEvent;
 import com.example.document_service.exception.ResourceNotFoundException;
 import com.example.document_service.model.Category;
 import com.example.document_service.repository.CategoryRepository;
+import com.example.document_service.util.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,24 +24,32 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceDataCache<Category> categoryCache; // See CacheConfig
+    private final KafkaProducerService kafkaProducerService;
+
+    // Runs after the CommandLineRunners (DataInitializer), so the first request already hits the cache
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadCache() {
+        categoryCache.getAll();
+    }
 
     @Transactional
     public CategoryDto createCategory(CategoryDto categoryDto) {
         Category category = new Category(categoryDto.name());
         category = categoryRepository.save(category);
+        evictCategoryCache();
         return mapToDto(category);
     }
 
-    @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
-        return categoryRepository.findAll().stream()
+        return categoryCache.getAll().stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
-     @Transactional(readOnly = true)
     public CategoryDto getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
+        Category category = categoryCache.get(id)
+                .or(() -> categoryRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         return mapToDto(category);
     }
@@ -43,6 +60,7 @@ public class CategoryService {
              .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         category.setName(categoryDto.name());
         category = categoryRepository.save(category);
+        evictCategoryCache();
         return mapToDto(category);
     }
 
@@ -53,14 +71,41 @@ public class CategoryService {
         }
         // Consider checking if any documents use this category before deleting
         categoryRepository.deleteById(id);
+        evictCategoryCache();
     }
 
     // --- Helper Methods ---
      public Category findCategoryById(Long id) { // For internal use by DocumentService
-        return categoryRepository.findById(id)
+        return categoryCache.get(id)
+            .or(() -> categoryRepository.findById(id)) // Created on another replica, invalidation not received yet
             .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
     }
 
+    // Batch lookup for bulk document creation; missing IDs are simply absent from the map
+    public Map<Long, Category> findCategoriesByIds(Collection<Long> ids) {
+        Map<Long, Category> found = new HashMap<>(categoryCache.getAll(ids));
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            categoryRepository.findAllById(missing).forEach(category -> found.put(category.getId(), category));
+        }
+        return found;
+    }
+
+    // Drop the cached categories now and again after commit, so a concurrent reader cannot
+    // re-populate the cache with pre-commit data, and tell the other replicas to do the same
+    private void evictCategoryCache() {
+        categoryCache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    categoryCache.invalidate();
+                }
+            });
+        }
+        kafkaProducerService.sendReferenceDataChangedEvent(ReferenceDataChangedEvent.CATEGORIES);
+    }
+
     private CategoryDto mapToDto(Category category) {
         return new CategoryDto(category.getId(), category.getName());
     }
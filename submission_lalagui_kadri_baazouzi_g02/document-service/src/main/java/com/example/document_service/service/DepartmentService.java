@@ -1,13 +1,22 @@
 package com.example.document_service.service;
 
 import com.example.document_service.dto.DepartmentDto;
+import com.example.document_service.dto.ReferenceDataChangedEvent;
 import com.example.document_service.exception.ResourceNotFoundException;
 import com.example.document_service.model.Department;
 import com.example.document_service.repository.DepartmentRepository;
+import com.example.document_service.util.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,24 +24,32 @@ import java.util.stream.Collectors;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final ReferenceDataCache<Department> departmentCache; // See CacheConfig
+    private final KafkaProducerService kafkaProducerService;
+
+    // Runs after DataInitializer has created the default departments
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadCache() {
+        departmentCache.getAll();
+    }
 
     @Transactional
     public DepartmentDto createDepartment(DepartmentDto departmentDto) {
         Department department = new Department(departmentDto.name());
         department = departmentRepository.save(department);
+        evictDepartmentCache();
         return mapToDto(department);
     }
 
-     @Transactional(readOnly = true)
     public List<DepartmentDto> getAllDepartments() {
-         return departmentRepository.findAll().stream()
+         return departmentCache.getAll().stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
-     @Transactional(readOnly = true)
     public DepartmentDto getDepartmentById(Long id) {
-        Department department = departmentRepository.findById(id)
+        Department department = departmentCache.get(id)
+             .or(() -> departmentRepository.findById(id))
              .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
          return mapToDto(department);
     }
@@ -43,6 +60,7 @@ public class DepartmentService {
              .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
         department.setName(departmentDto.name());
         department = departmentRepository.save(department);
+        evictDepartmentCache();
         return mapToDto(department);
     }
 
@@ -53,14 +71,41 @@ public class DepartmentService {
         }
          // Consider checking user assignments or document links before deleting
          departmentRepository.deleteById(id);
+        evictDepartmentCache();
     }
 
      // --- Helper Methods ---
      public Department findDepartmentById(Long id) { // For internal use
-        return departmentRepository.findById(id)
+        return departmentCache.get(id)
+            .or(() -> departmentRepository.findById(id)) // Created on another replica, invalidation not received yet
             .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
     }
 
+    // Batch lookup for bulk document creation; missing IDs are simply absent from the map
+    public Map<Long, Department> findDepartmentsByIds(Collection<Long> ids) {
+        Map<Long, Department> found = new HashMap<>(departmentCache.getAll(ids));
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            departmentRepository.findAllById(missing).forEach(department -> found.put(department.getId(), department));
+        }
+        return found;
+    }
+
+    // Drop the cached departments now and again after commit, so a concurrent reader cannot
+    // re-populate the cache with pre-commit data, and tell the other replicas to do the same
+    private void evictDepartmentCache() {
+        departmentCache.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    departmentCache.invalidate();
+                }
+            });
+        }
+        kafkaProducerService.sendReferenceDataChangedEvent(ReferenceDataChangedEvent.DEPARTMENTS);
+    }
+
     private DepartmentDto mapToDto(Department department) {
         return new DepartmentDto(department.getId(), department.getName());
     }
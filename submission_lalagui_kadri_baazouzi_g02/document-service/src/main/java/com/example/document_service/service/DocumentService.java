@@ -1,35 +1,70 @@
 package com.example.document_service.service;
 
+import com.example.document_service.dto.BulkDocumentCreateResultDto;
+import com.example.document_service.dto.BulkItemResultDto;
+import com.example.document_service.dto.CursorPageDto;
 import com.example.document_service.dto.DocumentCreateRequestDto;
+import com.example.document_service.dto.DocumentCursor;
+import com.example.document_service.dto.DocumentFileRef;
+import com.example.document_service.dto.DocumentVersion;
 import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.dto.DocumentWithETag;
+import com.example.document_service.dto.DownloadUrlDto;
+import com.example.document_service.dto.KafkaDocumentEvent;
+import com.example.document_service.dto.ListingVersion;
+import com.example.document_service.dto.TitleIndexChangedEvent;
+import com.example.document_service.dto.TitleSuggestionDto;
 // Removed unused DTO imports: CategoryDto, DepartmentDto, UserDepartmentDto
 import com.example.document_service.exception.ResourceNotFoundException;
 import com.example.document_service.model.Category;
 import com.example.document_service.model.Department;
 import com.example.document_service.model.Document;
 import com.example.document_service.repository.DocumentRepository;
+import com.example.document_service.repository.DocumentSearchRepository;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.ETags;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 // Removed unused import: java.util.Set
 import java.util.stream.Collectors;
 
+@Timed(value = "document.service", description = "DocumentService method latency")
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
+    private final DocumentSearchRepository documentSearchRepository;
     private final CategoryService categoryService; // Use service to get Category entity
     private final DepartmentService departmentService; // Use service to get Department entity
     private final UserDepartmentService userDepartmentService;
     private final KafkaProducerService kafkaProducerService;
+    private final StorageServiceClient storageServiceClient;
+    private final TitleAutocompleteIndex titleAutocompleteIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
 
     @Transactional
     public DocumentViewDto createDocument(DocumentCreateRequestDto dto, String ownerUserId) {
@@ -41,7 +76,7 @@ public class DocumentService {
         Department department = departmentService.findDepartmentById(dto.departmentId());
         
         // Check if user is already assigned to the department
-        List<Long> userDepartmentIds = userDepartmentService.getUserDepartmentIds(ownerUserId);
+        DepartmentIdSet userDepartmentIds = userDepartmentService.getUserDepartmentIdSet(ownerUserId);
         
         // Check if user has access to the specified department 
         // (auto-assignment is removed for security)
@@ -66,16 +101,109 @@ public class DocumentService {
         // Save the document
         Document savedDocument = documentRepository.save(document);
         log.info("Document saved with ID: {}", savedDocument.getId());
+        afterCommit(() -> titleAutocompleteIndex.put(savedDocument.getId(), department.getId(), savedDocument.getTitleEn(), null));
+        kafkaProducerService.sendTitleIndexChangedEvents(List.of(
+                TitleIndexChangedEvent.put(savedDocument.getId(), department.getId(), savedDocument.getTitleEn(), null)));
 
-        // Send event to Kafka
+        // Queue event for Kafka; OutboxRelay publishes it once this transaction commits
         kafkaProducerService.sendDocumentCreatedEvent(savedDocument.getId(), savedDocument.getTitleEn());
 
         // Map to DTO and return
         return mapToViewDto(savedDocument);
     }
 
+    /**
+     * Creates many documents for one owner. Categories, departments, access and existing S3 keys
+     * are resolved with one query each, the inserts are JDBC-batched (pooled ID sequence) and the
+     * Kafka events are queued with a single outbox batch insert, so the relay sends them together.
+     * Items that fail validation or checks are reported individually and do not stop the others.
+     */
+    @Transactional
+    public BulkDocumentCreateResultDto createDocuments(List<DocumentCreateRequestDto> dtos, String ownerUserId) {
+        log.info("Bulk creating {} document(s) for user {}", dtos.size(), ownerUserId);
+
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> departmentIds = new HashSet<>();
+        Set<String> s3FileKeys = new HashSet<>();
+        for (DocumentCreateRequestDto dto : dtos) {
+            if (dto != null) {
+                categoryIds.add(dto.categoryId());
+                departmentIds.add(dto.departmentId());
+                s3FileKeys.add(dto.s3FileKey());
+            }
+        }
+        categoryIds.remove(null);
+        departmentIds.remove(null);
+        s3FileKeys.remove(null);
+
+        Map<Long, Category> categories = categoryService.findCategoriesByIds(categoryIds);
+        Map<Long, Department> departments = departmentService.findDepartmentsByIds(departmentIds);
+        DepartmentIdSet userDepartmentIds = userDepartmentService.getUserDepartmentIdSet(ownerUserId);
+        Set<String> usedS3FileKeys = s3FileKeys.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(documentRepository.findExistingS3FileKeys(s3FileKeys));
+
+        BulkItemResultDto[] results = new BulkItemResultDto[dtos.size()];
+        List<Document> documents = new ArrayList<>();
+        List<Integer> documentIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            DocumentCreateRequestDto dto = dtos.get(i);
+            String error = validateBulkItem(dto, categories, departments, userDepartmentIds, usedS3FileKeys);
+            if (error != null) {
+                results[i] = BulkItemResultDto.failed(i, error);
+                continue;
+            }
+            usedS3FileKeys.add(dto.s3FileKey()); // Also rejects duplicates within the request
+
+            Document document = new Document();
+            document.setTitleEn(dto.titleEn());
+            document.setCategory(categories.get(dto.categoryId()));
+            document.setDepartment(departments.get(dto.departmentId()));
+            document.setOwnerUserId(ownerUserId);
+            document.setS3FileKey(dto.s3FileKey());
+            document.setFileName(dto.fileName());
+            document.setFileType(dto.fileType());
+            document.setFileSize(dto.fileSize());
+            documents.add(document);
+            documentIndexes.add(i);
+        }
+
+        List<Document> savedDocuments = documentRepository.saveAll(documents);
+        documentRepository.flush(); // Assign timestamps and surface constraint errors before queuing events
+
+        List<KafkaDocumentEvent> events = new ArrayList<>(savedDocuments.size());
+        List<TitleIndexChangedEvent> indexEvents = new ArrayList<>(savedDocuments.size());
+        for (int j = 0; j < savedDocuments.size(); j++) {
+            Document saved = savedDocuments.get(j);
+            results[documentIndexes.get(j)] = BulkItemResultDto.created(documentIndexes.get(j), mapToViewDto(saved));
+            events.add(new KafkaDocumentEvent(saved.getId(), saved.getTitleEn()));
+            indexEvents.add(TitleIndexChangedEvent.put(saved.getId(), saved.getDepartment().getId(), saved.getTitleEn(), null));
+        }
+        kafkaProducerService.sendDocumentCreatedEvents(events);
+        kafkaProducerService.sendTitleIndexChangedEvents(indexEvents);
+        afterCommit(() -> savedDocuments.forEach(saved ->
+                titleAutocompleteIndex.put(saved.getId(), saved.getDepartment().getId(), saved.getTitleEn(), null)));
+
+        int created = savedDocuments.size();
+        log.info("Bulk create for user {}: {} created, {} failed", ownerUserId, created, dtos.size() - created);
+        return new BulkDocumentCreateResultDto(created, dtos.size() - created, List.of(results));
+    }
+
     @Transactional(readOnly = true)
     public DocumentViewDto getDocumentById(Long id, String userId, List<String> userRoles) {
+        return mapToViewDto(findAccessibleDocument(id, userId, userRoles));
+    }
+
+    // getDocumentById plus the ETag of what was read, matching getDocumentETag(id, ...)
+    @Transactional(readOnly = true)
+    public DocumentWithETag getDocumentWithETag(Long id, String userId, List<String> userRoles) {
+        Document document = findAccessibleDocument(id, userId, userRoles);
+        return new DocumentWithETag(mapToViewDto(document), ETags.forDocument(new DocumentVersion(
+                document.getId(), document.getDepartment().getId(), document.getUpdatedAt(),
+                document.getCategory().getUpdatedAt(), document.getDepartment().getUpdatedAt())));
+    }
+
+    private Document findAccessibleDocument(Long id, String userId, List<String> userRoles) {
         log.debug("Fetching document by ID: {} for user: {}", id, userId);
         Document document = documentRepository.findByIdWithDetails(id) // Use query with JOIN FETCH
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
@@ -83,7 +211,7 @@ public class DocumentService {
         // Authorization check: Admin can see everything, User can only see docs in
         // their departments
         if (!userRoles.contains("ROLE_ADMIN")) {
-            List<Long> accessibleDepartmentIds = userDepartmentService.getUserDepartmentIds(userId);
+            DepartmentIdSet accessibleDepartmentIds = userDepartmentService.getUserDepartmentIdSet(userId);
             
             if (accessibleDepartmentIds.isEmpty()) {
                 log.warn("User {} has no department assignments, cannot access any documents", userId);
@@ -102,13 +230,13 @@ public class DocumentService {
             log.debug("Admin access granted for user {} to document {}", userId, id);
         }
 
-        return mapToViewDto(document);
+        return document;
     }
 
     @Transactional(readOnly = true)
     public Page<DocumentViewDto> findDocumentsForUser(String userId, Pageable pageable) {
         log.debug("Finding documents for user {} with page request {}", userId, pageable);
-        List<Long> departmentIds = userDepartmentService.getUserDepartmentIds(userId);
+        DepartmentIdSet departmentIds = userDepartmentService.getUserDepartmentIdSet(userId);
 
         if (departmentIds.isEmpty()) {
             log.info("User {} is not assigned to any departments. Returning empty document list.", userId);
@@ -118,20 +246,18 @@ public class DocumentService {
         }
 
         log.debug("Fetching documents for user {} in departments: {}", userId, departmentIds);
-        Page<Document> documentPage = documentRepository.findByDepartmentIdIn(departmentIds, pageable);
+        Page<DocumentViewDto> documentPage = documentRepository.findViewsByDepartmentIdIn(departmentIds.toList(), pageable);
         log.debug("Found {} documents for user {} in departments {}", documentPage.getTotalElements(), userId,
                 departmentIds);
 
-        return documentPage.map(this::mapToViewDto);
+        return documentPage;
     }
 
     // Method for Admin to see all documents (optional)
     @Transactional(readOnly = true)
     public Page<DocumentViewDto> findAllDocuments(Pageable pageable) {
         log.debug("Finding all documents with page request {}", pageable);
-        // Ensure your repository method `findAllWithDetails` exists and is correct
-        Page<Document> documentPage = documentRepository.findAllWithDetails(pageable);
-        return documentPage.map(this::mapToViewDto);
+        return documentRepository.findAllViews(pageable);
     }
 
     /**
@@ -148,10 +274,167 @@ public class DocumentService {
         departmentService.findDepartmentById(departmentId); // Will throw if not found
         
         // Find documents in this department
-        Page<Document> documentPage = documentRepository.findByDepartmentId(departmentId, pageable);
+        Page<DocumentViewDto> documentPage = documentRepository.findViewsByDepartmentId(departmentId, pageable);
         log.debug("Found {} documents in department {}", documentPage.getTotalElements(), departmentId);
         
-        return documentPage.map(this::mapToViewDto);
+        return documentPage;
+    }
+
+    /**
+     * Reads only what is needed to serve a document's file, applying the same access rules as
+     * {@link #getDocumentById}.
+     */
+    @Transactional(readOnly = true)
+    public DocumentFileRef getAccessibleFileRef(Long id, String userId, List<String> userRoles) {
+        DocumentFileRef ref = documentRepository.findFileRefById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
+
+        if (!userRoles.contains("ROLE_ADMIN")
+                && !userDepartmentService.getUserDepartmentIdSet(userId).contains(ref.departmentId())) {
+            log.warn("Access denied for user {} to file of document {} in department {}", userId, id, ref.departmentId());
+            throw new AccessDeniedException("User does not have access to this document's department");
+        }
+        return ref;
+    }
+
+    /**
+     * Resolves presigned download URLs for many documents with one access check and one
+     * document query. Missing URLs are fetched from the storage service in parallel.
+     * Deliberately not transactional: no database connection is held while the storage service is called.
+     *
+     * @return One result per requested ID, in request order
+     */
+    public List<DownloadUrlDto> getDownloadUrls(List<Long> documentIds, String userId, List<String> userRoles) {
+        log.debug("Fetching download URLs for {} document(s) for user {}", documentIds.size(), userId);
+        boolean admin = userRoles.contains("ROLE_ADMIN");
+        DepartmentIdSet accessibleDepartmentIds = admin ? DepartmentIdSet.EMPTY : userDepartmentService.getUserDepartmentIdSet(userId);
+
+        Map<Long, DocumentFileRef> accessible = new HashMap<>();
+        if (admin || !accessibleDepartmentIds.isEmpty()) {
+            for (DocumentFileRef ref : documentRepository.findFileRefsByIdIn(new HashSet<>(documentIds))) {
+                if (admin || accessibleDepartmentIds.contains(ref.departmentId())) {
+                    accessible.put(ref.id(), ref);
+                }
+            }
+        }
+
+        Map<String, String> urls = storageServiceClient.getPresignedUrls(
+                accessible.values().stream().map(DocumentFileRef::s3FileKey).toList());
+
+        List<DownloadUrlDto> results = new ArrayList<>(documentIds.size());
+        for (Long documentId : documentIds) {
+            DocumentFileRef ref = accessible.get(documentId);
+            if (ref == null) {
+                // Not found and not accessible are reported alike so IDs cannot be probed
+                results.add(DownloadUrlDto.failed(documentId, "Document not found or access denied"));
+            } else if (urls.containsKey(ref.s3FileKey())) {
+                results.add(DownloadUrlDto.of(documentId, ref.fileName(), urls.get(ref.s3FileKey())));
+            } else {
+                results.add(DownloadUrlDto.failed(documentId, "Failed to generate download URL"));
+            }
+        }
+        log.info("Provided {} of {} download URL(s) to user {}", urls.size(), documentIds.size(), userId);
+        return results;
+    }
+
+    /**
+     * Searches English and Spanish titles, best matches first, within the departments the user
+     * can see (all departments for admins).
+     */
+    @Transactional(readOnly = true)
+    public List<DocumentViewDto> searchDocuments(String query, String userId, List<String> userRoles, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        List<Long> departmentIds = null;
+        if (!userRoles.contains("ROLE_ADMIN")) {
+            DepartmentIdSet accessibleDepartmentIds = userDepartmentService.getUserDepartmentIdSet(userId);
+            if (accessibleDepartmentIds.isEmpty()) {
+                log.info("User {} is not assigned to any departments. Returning empty search result.", userId);
+                return List.of();
+            }
+            departmentIds = accessibleDepartmentIds.toList();
+        }
+        log.debug("Searching documents for '{}' for user {} (limit {})", query, userId, limit);
+        return documentSearchRepository.search(query.strip(), departmentIds, limit);
+    }
+
+    // --- ETags for conditional GETs ---
+    // Each costs one indexed lookup or aggregate, so an unchanged resource is answered with 304
+    // without loading entities or building DTOs. Access rules match the corresponding reads.
+
+    @Transactional(readOnly = true)
+    public String getDocumentETag(Long id, String userId, List<String> userRoles) {
+        DocumentVersion version = documentRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
+        if (!userRoles.contains("ROLE_ADMIN")
+                && !userDepartmentService.getUserDepartmentIdSet(userId).contains(version.departmentId())) {
+            throw new AccessDeniedException("User does not have access to this document's department");
+        }
+        return ETags.forDocument(version);
+    }
+
+    @Transactional(readOnly = true)
+    public String getDocumentsForUserETag(String userId, Pageable pageable) {
+        DepartmentIdSet departmentIds = userDepartmentService.getUserDepartmentIdSet(userId);
+        if (departmentIds.isEmpty()) {
+            return ETags.forListing("user:none", new ListingVersion(0L, null, null, null), pageable);
+        }
+        ListingVersion version = documentRepository.findListingVersionByDepartmentIdIn(departmentIds.toList());
+        return ETags.forListing("user:" + departmentIds.toList(), version, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public String getDocumentsByDepartmentETag(Long departmentId, Pageable pageable) {
+        ListingVersion version = documentRepository.findListingVersionByDepartmentId(departmentId);
+        return ETags.forListing("department:" + departmentId, version, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public String getAllDocumentsETag(Pageable pageable) {
+        return ETags.forListing("all", documentRepository.findListingVersionOfAll(), pageable);
+    }
+
+    // --- Cursor (keyset) pagination ---
+    // Same filters as the paged methods above, but each page costs the same however deep the
+    // client scrolls: no OFFSET scan and no COUNT query.
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<DocumentViewDto> scrollDocumentsForUser(String userId, String cursor, int size) {
+        DocumentCursor position = DocumentCursor.decode(cursor);
+        log.debug("Scrolling documents for user {} after {} (size {})", userId, position, size);
+        DepartmentIdSet departmentIds = userDepartmentService.getUserDepartmentIdSet(userId);
+
+        if (departmentIds.isEmpty()) {
+            log.info("User {} is not assigned to any departments. Returning empty document list.", userId);
+            return new CursorPageDto<>(List.of(), size, null, false);
+        }
+
+        List<DocumentViewDto> rows = documentRepository.findViewsByDepartmentIdInAfter(
+                departmentIds.toList(), position.createdAt(), position.id(), PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<DocumentViewDto> scrollDocumentsByDepartment(Long departmentId, String cursor, int size) {
+        DocumentCursor position = DocumentCursor.decode(cursor);
+        log.debug("Scrolling documents in department {} after {} (size {})", departmentId, position, size);
+
+        // Check if department exists
+        departmentService.findDepartmentById(departmentId); // Will throw if not found
+
+        List<DocumentViewDto> rows = documentRepository.findViewsByDepartmentIdAfter(
+                departmentId, position.createdAt(), position.id(), PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<DocumentViewDto> scrollAllDocuments(String cursor, int size) {
+        DocumentCursor position = DocumentCursor.decode(cursor);
+        log.debug("Scrolling all documents after {} (size {})", position, size);
+        List<DocumentViewDto> rows = documentRepository.findAllViewsAfter(
+                position.createdAt(), position.id(), PageRequest.of(0, size + 1));
+        return toCursorPage(rows, size);
     }
 
     @Transactional
@@ -163,10 +446,54 @@ public class DocumentService {
         document.setTitleEs(titleEs);
         Document updatedDocument = documentRepository.save(document);
         log.info("Successfully updated Spanish title for document ID: {}", documentId);
+        afterCommit(() -> titleAutocompleteIndex.updateTitleEs(documentId, titleEs));
+        kafkaProducerService.sendTitleIndexChangedEvents(List.of(TitleIndexChangedEvent.titleEs(documentId, titleEs)));
 
         return mapToViewDto(updatedDocument);
     }
 
+    /**
+     * Writes many translated titles with a single batched UPDATE, bypassing the entity
+     * load/save round trip of {@link #updateTranslatedTitle}.
+     *
+     * @param titlesByDocumentId Spanish title per document ID
+     * @return IDs that matched no document
+     */
+    @Transactional
+    public List<Long> applyTranslatedTitles(Map<Long, String> titlesByDocumentId) {
+        if (titlesByDocumentId.isEmpty()) {
+            return List.of();
+        }
+        List<Long> documentIds = new ArrayList<>(titlesByDocumentId.keySet());
+        Timestamp now = Timestamp.from(Instant.now()); // @UpdateTimestamp does not apply to plain JDBC
+        List<Object[]> rows = new ArrayList<>(documentIds.size());
+        for (Long documentId : documentIds) {
+            rows.add(new Object[]{titlesByDocumentId.get(documentId), now, documentId});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE documents SET title_es = ?, updated_at = ? WHERE id = ?", rows);
+
+        List<Long> unknownIds = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                unknownIds.add(documentIds.get(i));
+            }
+        }
+        log.info("Applied {} translated title(s), {} unknown document ID(s)",
+                documentIds.size() - unknownIds.size(), unknownIds.size());
+        afterCommit(() -> titlesByDocumentId.forEach(titleAutocompleteIndex::updateTitleEs)); // Unknown IDs are ignored
+        List<TitleIndexChangedEvent> indexEvents = new ArrayList<>(documentIds.size() - unknownIds.size());
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != 0) {
+                Long documentId = documentIds.get(i);
+                indexEvents.add(TitleIndexChangedEvent.titleEs(documentId, titlesByDocumentId.get(documentId)));
+            }
+        }
+        kafkaProducerService.sendTitleIndexChangedEvents(indexEvents);
+        return unknownIds;
+    }
+
     // --- Admin Only Methods (Example: Delete) ---
     @Transactional
     public void deleteDocument(Long id) {
@@ -179,11 +506,86 @@ public class DocumentService {
         // Example
 
         documentRepository.delete(document);
+        afterCommit(() -> titleAutocompleteIndex.remove(id));
+        kafkaProducerService.sendTitleIndexChangedEvents(List.of(TitleIndexChangedEvent.remove(id)));
         log.warn("Deleted document metadata for ID: {}", id);
     }
 
-    // --- Helper Method ---
-    private DocumentViewDto mapToViewDto(Document document) {
+    /**
+     * Title typeahead from the in-memory index, limited to the departments the user can see
+     * (all departments for admins). No database access.
+     */
+    public List<TitleSuggestionDto> autocompleteTitles(String prefix, String userId, List<String> userRoles, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        if (userRoles.contains("ROLE_ADMIN")) {
+            return titleAutocompleteIndex.suggest(prefix, null, limit);
+        }
+        return titleAutocompleteIndex.suggest(prefix, userDepartmentService.getUserDepartmentIdSet(userId), limit);
+    }
+
+    // --- Helper Methods ---
+
+    // In-memory indexes must only see committed changes
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Returns the reason the item cannot be created, or null if it can
+    private String validateBulkItem(DocumentCreateRequestDto dto,
+                                    Map<Long, Category> categories,
+                                    Map<Long, Department> departments,
+                                    DepartmentIdSet userDepartmentIds,
+                                    Set<String> usedS3FileKeys) {
+        if (dto == null) {
+            return "Document must not be null";
+        }
+        Set<ConstraintViolation<DocumentCreateRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!categories.containsKey(dto.categoryId())) {
+            return "Category not found with id: " + dto.categoryId();
+        }
+        if (!departments.containsKey(dto.departmentId())) {
+            return "Department not found with id: " + dto.departmentId();
+        }
+        if (!userDepartmentIds.contains(dto.departmentId())) {
+            return "You do not have permission to create documents in this department";
+        }
+        if (usedS3FileKeys.contains(dto.s3FileKey())) {
+            return "S3 file key is already used by another document: " + dto.s3FileKey();
+        }
+        return null;
+    }
+
+    // Rows are fetched with limit size + 1; the extra row only tells us whether another page exists
+    private CursorPageDto<DocumentViewDto> toCursorPage(List<DocumentViewDto> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<DocumentViewDto> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            DocumentViewDto last = page.get(page.size() - 1);
+            nextCursor = new DocumentCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPageDto<>(List.copyOf(page), size, nextCursor, hasNext);
+    }
+
+    // Package-private and static so the JMH benchmarks (src/jmh) can call it directly
+    static DocumentViewDto mapToViewDto(Document document) {
         // Handles potential nulls if category/department weren't fetched properly
         // (shouldn't happen with JOIN FETCH)
         String categoryName = (document.getCategory() != null) ? document.getCategory().getName() : null;
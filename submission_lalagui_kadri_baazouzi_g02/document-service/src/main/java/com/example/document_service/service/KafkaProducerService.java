@@ -1,31 +1,155 @@
 package com.example.document_service.service;
 
 import com.example.document_service.dto.KafkaDocumentEvent;
+import com.example.document_service.dto.ReferenceDataChangedEvent;
+import com.example.document_service.dto.TitleIndexChangedEvent;
+import com.example.document_service.model.OutboxEvent;
+import com.example.document_service.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, KafkaDocumentEvent> kafkaTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.kafka.topic.document-created}")
     private String topicName;
 
+    @Value("${app.kafka.topic.reference-data-changed}")
+    private String referenceDataTopicName;
+
+    @Value("${app.kafka.topic.title-index-changed}")
+    private String titleIndexTopicName;
+
+    /**
+     * Records a document created event in the outbox. The event only becomes visible to
+     * {@link OutboxRelay} if the caller's transaction commits, so it is never published for a
+     * document that was rolled back, and the caller does not wait on the broker.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendDocumentCreatedEvent(Long documentId, String titleEn) {
         KafkaDocumentEvent event = new KafkaDocumentEvent(documentId, titleEn);
+        outboxEventRepository.save(new OutboxEvent(topicName, String.valueOf(documentId), toJson(event)));
+        log.debug("Queued document created event for topic '{}': {}", topicName, event);
+    }
+
+    /**
+     * Bulk variant of {@link #sendDocumentCreatedEvent}: one JDBC batch insert for all events.
+     * Plain JDBC keeps the IDENTITY ids (and therefore the relay's publish order) while still
+     * batching, which Hibernate cannot do for IDENTITY entities.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendDocumentCreatedEvents(List<KafkaDocumentEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (KafkaDocumentEvent event : events) {
+            rows.add(new Object[]{topicName, String.valueOf(event.documentId()), toJson(event), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO document_outbox (topic, message_key, payload, attempts, next_attempt_at, created_at)" +
+                " VALUES (?, ?, ?, 0, ?, ?)", rows);
+        log.debug("Queued {} document created event(s) for topic '{}'", events.size(), topicName);
+    }
+
+    /**
+     * Records a reference data change in the outbox, so other replicas drop their cached copy
+     * once the change has committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendReferenceDataChangedEvent(String cache) {
+        sendReferenceDataChangedEvent(cache, null);
+    }
+
+    /**
+     * Variant of {@link #sendReferenceDataChangedEvent(String)} for caches keyed per entry,
+     * such as one user's department assignments.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendReferenceDataChangedEvent(String cache, String key) {
+        ReferenceDataChangedEvent event = new ReferenceDataChangedEvent(cache, key);
+        // Per-entry message key, so one entry's failing send does not hold back the others (see OutboxRelay)
+        String messageKey = key == null ? cache : cache + ":" + key;
+        outboxEventRepository.save(new OutboxEvent(referenceDataTopicName, messageKey, toJson(event)));
+        log.debug("Queued reference data changed event for topic '{}': {}", referenceDataTopicName, event);
+    }
+
+    /**
+     * Records autocomplete index changes in the outbox (one JDBC batch, like
+     * {@link #sendDocumentCreatedEvents}), so every replica's TitleAutocompleteIndex applies them
+     * once the change has committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendTitleIndexChangedEvents(List<TitleIndexChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (TitleIndexChangedEvent event : events) {
+            rows.add(new Object[]{titleIndexTopicName, String.valueOf(event.documentId()), toJson(event), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO document_outbox (topic, message_key, payload, attempts, next_attempt_at, created_at)" +
+                " VALUES (?, ?, ?, 0, ?, ?)", rows);
+        log.debug("Queued {} title index event(s) for topic '{}'", events.size(), titleIndexTopicName);
+    }
+
+    /**
+     * Sends an already serialized payload; used by the outbox relay.
+     * Time from send to broker acknowledgement is recorded as document.kafka.send, tagged with the
+     * topic and outcome (success or failure).
+     */
+    public CompletableFuture<SendResult<String, String>> publish(OutboxEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, String>> send;
+        try {
+            send = kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload());
+        } catch (RuntimeException e) { // e.g. metadata not available within max.block.ms
+            sample.stop(sendTimer(event.getTopic(), "failure"));
+            throw e;
+        }
+        send.whenComplete((result, error) -> sample.stop(sendTimer(event.getTopic(), error == null ? "success" : "failure")));
+        return send;
+    }
+
+    private Timer sendTimer(String topic, String outcome) {
+        return Timer.builder("document.kafka.send")
+                .description("Kafka send latency until broker acknowledgement")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private String toJson(Object event) {
         try {
-            // Send message (key can be documentId as string or null)
-            kafkaTemplate.send(topicName, String.valueOf(documentId), event);
-            log.info("Sent document created event to Kafka topic '{}': {}", topicName, event);
-        } catch (Exception e) {
-            log.error("Failed to send document created event for document ID {} to Kafka: {}", documentId, e.getMessage());
-            // Consider adding retry logic or dead-letter queue mechanism here
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize Kafka event " + event, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+package com.example.document_service.service;
+
+import com.example.document_service.model.OutboxEvent;
+import com.example.document_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows to Kafka in batches and deletes them once acknowledged.
+ * Each batch is claimed in a short transaction that leases the rows (pushes nextAttemptAt past the
+ * send timeout), sent with no transaction or row lock held, then deleted or rescheduled in a second
+ * transaction. Delivery is at-least-once: if the relay dies before that, the rows are resent once the
+ * lease ends.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    // Lease beyond the send timeout, so acks collected right at the deadline are recorded before the rows are due again
+    private static final Duration LEASE_MARGIN = Duration.ofSeconds(30);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryLagTimer;
+    private final Timer batchTimer;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    // Must exceed the producer's delivery timeout, otherwise a slow ack is counted as a failure
+    @Value("${app.outbox.send-timeout:70s}")
+    private Duration sendTimeout;
+
+    @Value("${app.outbox.retry.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${app.outbox.retry.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaProducerService kafkaProducerService,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        this.transactionTemplate = transactionTemplate;
+
+        this.publishedCounter = Counter.builder("document.outbox.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("document.outbox.failed")
+                .description("Outbox publish attempts that failed and were rescheduled")
+                .register(meterRegistry);
+        this.deliveryLagTimer = Timer.builder("document.outbox.delivery.lag")
+                .description("Time from the outbox write to the Kafka acknowledgement")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("document.outbox.batch")
+                .description("Time to publish and clear one outbox batch")
+                .register(meterRegistry);
+        // Evaluated on scrape only, so an idle relay does not add queries
+        Gauge.builder("document.outbox.pending", outboxEventRepository, OutboxEventRepository::count)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("document.outbox.oldest.age", outboxEventRepository, OutboxRelay::oldestAgeSeconds)
+                .description("Age in seconds of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int rounds = 0;
+        int drained;
+        do {
+            drained = batchTimer.record(this::drainBatch);
+        } while (drained == batchSize && ++rounds < maxBatchesPerRun);
+    }
+
+    private int drainBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // Send everything first so the producer can pipeline the batch, then collect the acks.
+        // send() itself can block for up to max.block.ms (no metadata, full buffer), so after the
+        // first such failure, or once the send timeout has passed, the remaining events are
+        // rescheduled without being sent.
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        Throwable blocked = null;
+        for (OutboxEvent event : batch) {
+            if (blocked == null && deadline - System.nanoTime() <= 0) {
+                blocked = new TimeoutException("Send timeout of " + sendTimeout + " elapsed before sending");
+            }
+            if (blocked == null) {
+                try {
+                    sends.add(kafkaProducerService.publish(event));
+                    continue;
+                } catch (RuntimeException e) { // e.g. metadata not available within max.block.ms
+                    blocked = e;
+                }
+            }
+            sends.add(CompletableFuture.failedFuture(blocked));
+        }
+
+        List<Long> publishedIds = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                publishedIds.add(event.getId());
+                if (event.getCreatedAt() != null) {
+                    deliveryLagTimer.record(Duration.between(event.getCreatedAt(), Instant.now()));
+                }
+            } catch (ExecutionException e) {
+                failed.add(markFailed(event, e.getCause()));
+            } catch (TimeoutException e) {
+                failed.add(markFailed(event, e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(markFailed(event, e));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!publishedIds.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(publishedIds);
+            }
+            for (OutboxEvent event : failed) {
+                outboxEventRepository.reschedule(event.getId(), event.getAttempts(), event.getLastError(), event.getNextAttemptAt());
+            }
+        });
+        if (!publishedIds.isEmpty()) {
+            publishedCounter.increment(publishedIds.size());
+            log.debug("Published {} outbox event(s)", publishedIds.size());
+        }
+        return batch.size();
+    }
+
+    // Runs in its own short transaction: the row locks only last until the lease is written
+    private List<OutboxEvent> claimBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(now, PageRequest.of(0, batchSize));
+        Instant leaseEnd = now.plus(sendTimeout).plus(LEASE_MARGIN);
+        for (OutboxEvent event : batch) {
+            event.setNextAttemptAt(leaseEnd); // Flushed on commit; other relays skip the row until then
+        }
+        return batch;
+    }
+
+    // Reschedules the event with exponential backoff; later events for the same key wait behind it
+    private OutboxEvent markFailed(OutboxEvent event, Throwable cause) {
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        String error = String.valueOf(cause);
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        event.setNextAttemptAt(Instant.now().plus(backoff));
+        failedCounter.increment();
+        log.warn("Failed to publish outbox event {} to topic '{}' (attempt {}), retrying in {}: {}",
+                event.getId(), event.getTopic(), attempts, backoff, error);
+        return event;
+    }
+
+    private static double oldestAgeSeconds(OutboxEventRepository repository) {
+        Instant oldest = repository.findOldestCreatedAt();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.ReferenceDataChangedEvent;
+import com.example.document_service.model.Category;
+import com.example.document_service.model.Department;
+import com.example.document_service.security.DepartmentMembershipVerifier;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.ReferenceDataCache;
+import com.example.document_service.util.SingleFlightCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops this replica's cached categories, departments or user department assignments when any replica changes them.
+ * Each replica reads the topic's partition directly, without a consumer group, so every replica
+ * sees every change and no per-instance groups are left behind on the broker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCacheListener {
+
+    private final ReferenceDataCache<Category> categoryCache;
+    private final ReferenceDataCache<Department> departmentCache;
+    private final SingleFlightCache<String, DepartmentIdSet> userDepartmentCache;
+    private final DepartmentMembershipVerifier membershipVerifier;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            // Single partition, see KafkaTopicConfig.referenceDataChangedTopic
+            topicPartitions = @TopicPartition(topic = "${app.kafka.topic.reference-data-changed}", partitions = "0"),
+            containerFactory = "referenceDataListenerContainerFactory")
+    public void onReferenceDataChanged(String payload) {
+        ReferenceDataChangedEvent event;
+        try {
+            event = objectMapper.readValue(payload, ReferenceDataChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed reference data event: {}", payload);
+            return;
+        }
+
+        switch (String.valueOf(event.cache())) {
+            case ReferenceDataChangedEvent.CATEGORIES -> categoryCache.invalidate();
+            case ReferenceDataChangedEvent.DEPARTMENTS -> departmentCache.invalidate();
+            case ReferenceDataChangedEvent.USER_DEPARTMENTS -> {
+                if (event.key() == null) {
+                    log.warn("Ignoring user department event without a user ID: {}", payload);
+                    return;
+                }
+                userDepartmentCache.invalidate(event.key());
+                membershipVerifier.markChanged(event.key());
+            }
+            default -> {
+                log.warn("Ignoring reference data event for unknown cache: {}", event.cache());
+                return;
+            }
+        }
+        log.debug("Invalidated {} cache after a committed change", event.cache());
+    }
+}
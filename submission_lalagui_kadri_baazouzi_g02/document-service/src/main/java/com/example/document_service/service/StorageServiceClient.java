@@ -0,0 +1,262 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.PresignedUrl;
+import com.example.document_service.exception.UploadTooLargeException;
+import com.example.document_service.util.SingleFlightCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calls to the storage service.
+ */
+@Service
+@Slf4j
+public class StorageServiceClient {
+
+    // Signing time in SigV4 presigned URLs (X-Amz-Date), always UTC
+    private static final DateTimeFormatter AMZ_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final RestTemplate restTemplate;
+    private final SingleFlightCache<String, PresignedUrl> presignedUrlCache; // See CacheConfig
+    private final ExecutorService presignExecutor; // Caps concurrent presigned URL fetches across all requests
+
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final AtomicInteger activeUploads = new AtomicInteger();
+    private final Counter uploadedBytesCounter;
+    private final DistributionSummary uploadSizeSummary;
+    private final DistributionSummary uploadThroughputSummary;
+    private final Timer uploadTimer;
+
+    @Value("${storage.service.url:http://storage-service:8002}")
+    private String storageServiceUrl;
+
+    // Memory held per upload: the body is relayed through one buffer of this size
+    @Value("${storage.upload.chunk-size:64KB}")
+    private DataSize uploadChunkSize;
+
+    // Assumed lifetime of a presigned URL whose query string does not state one
+    @Value("${storage.presigned-url.validity:1h}")
+    private Duration presignedUrlValidity;
+
+    public StorageServiceClient(RestTemplate restTemplate, SingleFlightCache<String, PresignedUrl> presignedUrlCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${storage.presigned-url.fetch-concurrency:8}") int presignFetchConcurrency,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.restTemplate = restTemplate;
+        this.presignedUrlCache = presignedUrlCache;
+        // Still a fixed pool with virtual threads: the pool size is what bounds the load on the storage service
+        ThreadFactory presignThreadFactory = virtualThreads
+                ? Thread.ofVirtual().name("storage-presign-", 1).factory()
+                : new CustomizableThreadFactory("storage-presign-");
+        this.presignExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(presignFetchConcurrency, presignThreadFactory),
+                "storagePresign");
+        Gauge.builder("storage.upload.bytes.in.flight", bytesInFlight, AtomicLong::get)
+                .description("Upload bytes read from clients and not yet written to the storage service")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("storage.upload.active", activeUploads, AtomicInteger::get)
+                .description("Uploads currently being relayed to the storage service")
+                .register(meterRegistry);
+        this.uploadedBytesCounter = Counter.builder("storage.upload.bytes")
+                .description("Bytes relayed to the storage service")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadSizeSummary = DistributionSummary.builder("storage.upload.size")
+                .description("Size of relayed upload bodies")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadThroughputSummary = DistributionSummary.builder("storage.upload.throughput")
+                .description("Per-upload relay throughput")
+                .baseUnit("bytes.per.second")
+                .register(meterRegistry);
+        this.uploadTimer = Timer.builder("storage.upload.duration")
+                .description("Time to relay an upload and receive the storage service response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a presigned download URL for a file, from the cache when a sufficiently fresh one is held.
+     * Concurrent misses for the same key share a single storage service call.
+     *
+     * @param s3FileKey The S3 file key
+     * @return The presigned URL
+     * @throws IllegalStateException if the storage service returns no URL
+     */
+    public String getPresignedUrl(String s3FileKey) {
+        return presignedUrlCache.get(s3FileKey, this::fetchPresignedUrl).url();
+    }
+
+    /**
+     * Returns presigned download URLs for many files. Cached URLs are returned directly, the rest
+     * are fetched in parallel, at most {@code fetch-concurrency} at a time.
+     *
+     * @param s3FileKeys The S3 file keys
+     * @return URL per key; keys whose URL could not be fetched are absent
+     */
+    public Map<String, String> getPresignedUrls(Collection<String> s3FileKeys) {
+        Map<String, String> urls = new HashMap<>();
+        Map<String, CompletableFuture<String>> pending = new HashMap<>();
+        for (String s3FileKey : new LinkedHashSet<>(s3FileKeys)) {
+            PresignedUrl cached = presignedUrlCache.getIfPresent(s3FileKey);
+            if (cached != null) {
+                urls.put(s3FileKey, cached.url());
+            } else {
+                pending.put(s3FileKey, CompletableFuture.supplyAsync(() -> getPresignedUrl(s3FileKey), presignExecutor));
+            }
+        }
+        log.debug("Presigned URLs for {} key(s): {} cached, {} fetched", urls.size() + pending.size(), urls.size(), pending.size());
+
+        pending.forEach((s3FileKey, future) -> {
+            try {
+                urls.put(s3FileKey, future.join());
+            } catch (RuntimeException e) {
+                log.warn("Could not get presigned URL for file {}: {}", s3FileKey, e.getMessage());
+            }
+        });
+        return urls;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        presignExecutor.shutdown();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private PresignedUrl fetchPresignedUrl(String s3FileKey) {
+        // Passed as a URI variable: RestTemplate encodes it, and http.client.requests is tagged with
+        // the template instead of one uri tag per file key
+        log.debug("Fetching presigned URL from storage service for file: {}", s3FileKey);
+
+        Instant requestedAt = Instant.now();
+        ResponseEntity<Map> responseEntity = restTemplate.getForEntity(
+                storageServiceUrl + "/presigned-url/{s3FileKey}", Map.class, s3FileKey);
+        Object url = responseEntity.getBody() == null ? null : responseEntity.getBody().get("url");
+        if (!responseEntity.getStatusCode().is2xxSuccessful() || !(url instanceof String presignedUrl)) {
+            throw new IllegalStateException("Storage service returned no presigned URL (status "
+                    + responseEntity.getStatusCode() + ")");
+        }
+        return new PresignedUrl(presignedUrl, expiresAt(presignedUrl, requestedAt));
+    }
+
+    // Reads the SigV4 signing time and lifetime from the URL, falling back to the configured validity
+    private Instant expiresAt(String presignedUrl, Instant requestedAt) {
+        try {
+            Map<String, String> query = UriComponentsBuilder.fromUriString(presignedUrl).build()
+                    .getQueryParams().toSingleValueMap();
+            String amzDate = query.get("X-Amz-Date");
+            String amzExpires = query.get("X-Amz-Expires");
+            if (amzDate != null && amzExpires != null) {
+                return LocalDateTime.parse(amzDate, AMZ_DATE_FORMAT).toInstant(ZoneOffset.UTC)
+                        .plusSeconds(Long.parseLong(amzExpires));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read expiry from presigned URL, assuming {}: {}", presignedUrlValidity, e.getMessage());
+        }
+        return requestedAt.plus(presignedUrlValidity);
+    }
+
+    /**
+     * Streams a multipart/form-data body (with a "file" part) to the storage service's upload
+     * endpoint as it is read, without buffering the file.
+     *
+     * @param body          The raw request body
+     * @param contentType   The body's content type, including the multipart boundary
+     * @param contentLength Body length, or -1 if unknown (sent chunked)
+     * @param maxSize       Largest body accepted; checked as bytes arrive, since a chunked body declares no length
+     * @return The storage service's JSON response
+     * @throws UploadTooLargeException once more than {@code maxSize} bytes have been read; the upload is aborted
+     */
+    @SuppressWarnings("rawtypes")
+    public ResponseEntity<Map> streamUpload(InputStream body, MediaType contentType, long contentLength, long maxSize) {
+        String storageServiceEndpoint = storageServiceUrl + "/upload/";
+        log.debug("Streaming upload to storage service: {} ({} bytes)", storageServiceEndpoint, contentLength);
+
+        AtomicLong transferred = new AtomicLong();
+        activeUploads.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return restTemplate.execute(storageServiceEndpoint, HttpMethod.POST,
+                    request -> writeBody(request, body, contentType, contentLength, maxSize, transferred),
+                    restTemplate.responseEntityExtractor(Map.class));
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            activeUploads.decrementAndGet();
+            uploadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            uploadSizeSummary.record(transferred.get());
+            if (elapsed > 0) {
+                uploadThroughputSummary.record(transferred.get() * 1e9 / elapsed);
+            }
+        }
+    }
+
+    private void writeBody(ClientHttpRequest request, InputStream body, MediaType contentType,
+                           long contentLength, long maxSize, AtomicLong transferred) throws IOException {
+        request.getHeaders().setContentType(contentType);
+        if (contentLength >= 0) {
+            request.getHeaders().setContentLength(contentLength);
+        }
+        if (request instanceof StreamingHttpOutputMessage streaming) {
+            streaming.setBody(out -> copy(body, out, maxSize, transferred));
+        } else {
+            copy(body, request.getBody(), maxSize, transferred);
+        }
+    }
+
+    private void copy(InputStream in, OutputStream out, long maxSize, AtomicLong transferred) throws IOException {
+        byte[] buffer = new byte[(int) uploadChunkSize.toBytes()];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (transferred.get() + read > maxSize) {
+                // Unchecked, so RestTemplate does not wrap it in a ResourceAccessException
+                throw new UploadTooLargeException("Upload exceeds the maximum size of " + DataSize.ofBytes(maxSize));
+            }
+            bytesInFlight.addAndGet(read);
+            try {
+                out.write(buffer, 0, read);
+            } finally {
+                bytesInFlight.addAndGet(-read);
+            }
+            transferred.addAndGet(read);
+            uploadedBytesCounter.increment(read);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.TitleSuggestionDto;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.PrefixTrie;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory prefix index of document titles (English and Spanish) for typeahead, with one trie
+ * per department so a lookup only walks the departments the caller can see.
+ * Built from the documents table at startup and kept current by DocumentService after each
+ * committed create, translation and delete, and by {@link TitleIndexListener} for changes
+ * committed on other replicas. Size is capped at {@code max-documents}; documents
+ * beyond the cap are simply not suggested.
+ */
+@Component
+@Slf4j
+public class TitleAutocompleteIndex {
+
+    private static final int BUILD_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by lock. Lookups share the read lock; they take microseconds, so writers wait little.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PrefixTrie> triesByDepartment = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private Set<Long> removedDuringBuild; // Non-null while the startup build runs
+    private boolean ready;
+    private boolean capacityWarned;
+    private long documentBytes; // Estimated heap of the per-document entries, maintained on add/remove
+
+    @Value("${app.autocomplete.max-documents:1000000}")
+    private int maxDocuments;
+
+    // Only this many leading characters of a title are indexed
+    @Value("${app.autocomplete.max-key-length:64}")
+    private int maxKeyLength;
+
+    private record IndexedDocument(long departmentId, String titleEn, String titleEs) {}
+
+    public TitleAutocompleteIndex(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("document.autocomplete.documents", this, index -> index.read(index.documents::size))
+                .description("Documents in the title autocomplete index")
+                .register(meterRegistry);
+        Gauge.builder("document.autocomplete.nodes", this, index -> index.read(() -> index.sum(PrefixTrie::nodeCount)))
+                .description("Trie nodes in the title autocomplete index")
+                .register(meterRegistry);
+        Gauge.builder("document.autocomplete.memory", this, index -> index.read(() -> index.estimatedBytes()))
+                .description("Estimated heap used by the title autocomplete index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        write(() -> removedDuringBuild = new HashSet<>());
+        long start = System.nanoTime();
+        // PostgreSQL only streams with a fetch size inside a transaction
+        transactionTemplate.execute(status -> {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement("SELECT id, department_id, title_en, title_es FROM documents");
+                statement.setFetchSize(BUILD_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                long documentId = rs.getLong("id");
+                long departmentId = rs.getLong("department_id");
+                String titleEn = rs.getString("title_en");
+                String titleEs = rs.getString("title_es");
+                write(() -> {
+                    // Creates, translations and deletes made while building win over the snapshot
+                    if (!documents.containsKey(documentId) && !removedDuringBuild.contains(documentId)) {
+                        add(documentId, new IndexedDocument(departmentId, titleEn, titleEs));
+                    }
+                });
+            });
+            return null;
+        });
+        write(() -> {
+            removedDuringBuild = null;
+            ready = true;
+        });
+        log.info("Built title autocomplete index: {} documents, ~{} KB in {} ms",
+                read(documents::size), read(this::estimatedBytes) / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void put(long documentId, long departmentId, String titleEn, String titleEs) {
+        write(() -> {
+            unindex(documentId);
+            add(documentId, new IndexedDocument(departmentId, titleEn, titleEs));
+        });
+    }
+
+    public void updateTitleEs(long documentId, String titleEs) {
+        write(() -> {
+            IndexedDocument indexed = unindex(documentId);
+            if (indexed != null) {
+                add(documentId, new IndexedDocument(indexed.departmentId(), indexed.titleEn(), titleEs));
+            }
+        });
+    }
+
+    public void remove(long documentId) {
+        write(() -> {
+            unindex(documentId);
+            if (removedDuringBuild != null) {
+                removedDuringBuild.add(documentId);
+            }
+        });
+    }
+
+    /**
+     * @param prefix        Typed text, matched case-insensitively against the start of either title
+     * @param departmentIds Departments to suggest from, or null for all departments
+     * @param limit         Maximum number of suggestions
+     * @return Suggestions in title order; empty until the startup build has finished
+     */
+    public List<TitleSuggestionDto> suggest(String prefix, DepartmentIdSet departmentIds, int limit) {
+        String key = normalize(prefix);
+        return read(() -> {
+            if (!ready) {
+                return List.of();
+            }
+            // Each trie yields its first 'limit' matches in title order; the overall first 'limit'
+            // are among them, so merge by matched title and cut
+            List<Long> ids = new ArrayList<>();
+            int tries = 0;
+            Iterable<PrefixTrie> visible = departmentIds == null ? triesByDepartment.values() : departmentTries(departmentIds);
+            for (PrefixTrie trie : visible) {
+                Set<Long> found = new LinkedHashSet<>();
+                trie.collect(key, limit, found);
+                ids.addAll(found);
+                tries++;
+            }
+            if (tries > 1) {
+                ids.sort(Comparator.comparing(id -> matchedKey(documents.get(id), key))); // Stable: ties keep trie order
+            }
+            List<TitleSuggestionDto> suggestions = new ArrayList<>(Math.min(ids.size(), limit));
+            for (Long id : ids.subList(0, Math.min(ids.size(), limit))) {
+                IndexedDocument indexed = documents.get(id);
+                suggestions.add(new TitleSuggestionDto(id, indexed.titleEn(), indexed.titleEs()));
+            }
+            return suggestions;
+        });
+    }
+
+    // Caller holds a lock
+    private List<PrefixTrie> departmentTries(DepartmentIdSet departmentIds) {
+        List<PrefixTrie> tries = new ArrayList<>();
+        for (long departmentId : departmentIds.toList()) {
+            PrefixTrie trie = triesByDepartment.get(departmentId);
+            if (trie != null) {
+                tries.add(trie);
+            }
+        }
+        return tries;
+    }
+
+    // The smallest of the document's keys starting with the prefix, i.e. where the trie found it
+    private String matchedKey(IndexedDocument indexed, String prefix) {
+        String[] matched = new String[1];
+        forEachKey(indexed, key -> {
+            if (key.startsWith(prefix) && (matched[0] == null || key.compareTo(matched[0]) < 0)) {
+                matched[0] = key;
+            }
+        });
+        return matched[0];
+    }
+
+    // Caller holds the write lock
+    private void add(long documentId, IndexedDocument indexed) {
+        if (documents.size() >= maxDocuments) {
+            if (!capacityWarned) {
+                capacityWarned = true;
+                log.warn("Title autocomplete index is full ({} documents); further documents are not suggested", maxDocuments);
+            }
+            return;
+        }
+        documents.put(documentId, indexed);
+        documentBytes += documentBytes(indexed);
+        PrefixTrie trie = triesByDepartment.computeIfAbsent(indexed.departmentId(), id -> new PrefixTrie());
+        forEachKey(indexed, key -> trie.add(key, documentId));
+    }
+
+    // Caller holds the write lock. Returns the removed entry, or null if the document was not indexed.
+    private IndexedDocument unindex(long documentId) {
+        IndexedDocument indexed = documents.remove(documentId);
+        if (indexed == null) {
+            return null;
+        }
+        documentBytes -= documentBytes(indexed);
+        PrefixTrie trie = triesByDepartment.get(indexed.departmentId());
+        forEachKey(indexed, key -> trie.remove(key, documentId));
+        if (trie.keyCount() == 0) {
+            triesByDepartment.remove(indexed.departmentId());
+        }
+        return indexed;
+    }
+
+    private void forEachKey(IndexedDocument indexed, Consumer<String> action) {
+        String en = indexed.titleEn() == null ? null : normalize(indexed.titleEn());
+        String es = indexed.titleEs() == null ? null : normalize(indexed.titleEs());
+        if (en != null) {
+            action.accept(en);
+        }
+        if (es != null && !es.equals(en)) {
+            action.accept(es);
+        }
+    }
+
+    private String normalize(String title) {
+        String key = title.strip().toLowerCase(Locale.ROOT);
+        return key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key;
+    }
+
+    // Caller holds a lock
+    private long sum(ToLongFunction<PrefixTrie> metric) {
+        long total = 0;
+        for (PrefixTrie trie : triesByDepartment.values()) {
+            total += metric.applyAsLong(trie);
+        }
+        return total;
+    }
+
+    // Caller holds a lock. Tries plus the per-document entries and title strings.
+    private long estimatedBytes() {
+        return sum(PrefixTrie::estimatedBytes) + documentBytes;
+    }
+
+    // Record, boxed key and map entry, plus the two (Latin-1) title strings
+    private static long documentBytes(IndexedDocument indexed) {
+        return 96 + stringBytes(indexed.titleEn()) + stringBytes(indexed.titleEs());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
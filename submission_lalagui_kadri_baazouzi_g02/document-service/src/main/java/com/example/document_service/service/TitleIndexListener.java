@@ -0,0 +1,51 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.TitleIndexChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies title index changes made on any replica to this replica's TitleAutocompleteIndex.
+ * Reads the partition without a consumer group, like {@link ReferenceDataCacheListener}. The
+ * replica that made the change already applied it after commit; applying it again is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TitleIndexListener {
+
+    private final TitleAutocompleteIndex titleAutocompleteIndex;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            // Single partition, see KafkaTopicConfig.titleIndexChangedTopic
+            topicPartitions = @TopicPartition(topic = "${app.kafka.topic.title-index-changed}", partitions = "0"),
+            containerFactory = "referenceDataListenerContainerFactory")
+    public void onTitleIndexChanged(String payload) {
+        TitleIndexChangedEvent event;
+        try {
+            event = objectMapper.readValue(payload, TitleIndexChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed title index event: {}", payload);
+            return;
+        }
+
+        switch (String.valueOf(event.change())) {
+            case TitleIndexChangedEvent.PUT -> {
+                if (event.departmentId() == null) {
+                    log.warn("Ignoring title index event without a department: {}", payload);
+                    return;
+                }
+                titleAutocompleteIndex.put(event.documentId(), event.departmentId(), event.titleEn(), event.titleEs());
+            }
+            case TitleIndexChangedEvent.TITLE_ES -> titleAutocompleteIndex.updateTitleEs(event.documentId(), event.titleEs());
+            case TitleIndexChangedEvent.REMOVE -> titleAutocompleteIndex.remove(event.documentId());
+            default -> log.warn("Ignoring title index event with unknown change: {}", event.change());
+        }
+    }
+}
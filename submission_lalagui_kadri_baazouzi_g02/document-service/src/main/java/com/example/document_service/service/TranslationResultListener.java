@@ -0,0 +1,133 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.TranslationResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies translated titles published by the translation service, one batched UPDATE per poll.
+ * Results that cannot be applied go to the dead-letter topic with the original payload.
+ */
+@Component
+@Slf4j
+public class TranslationResultListener {
+
+    private static final int MAX_TITLE_LENGTH = 255; // documents.title_es column size
+
+    private final DocumentService documentService;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter appliedCounter;
+    private final Counter deadLetterCounter;
+
+    @Value("${app.kafka.topic.translation-result-dlt}")
+    private String deadLetterTopic;
+
+    public TranslationResultListener(DocumentService documentService,
+                                     KafkaTemplate<String, String> kafkaTemplate,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.documentService = documentService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.appliedCounter = Counter.builder("document.translation.results")
+                .tag("outcome", "applied")
+                .description("Translation results consumed from Kafka")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("document.translation.results")
+                .tag("outcome", "dead_letter")
+                .description("Translation results consumed from Kafka")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = "translationResults",
+            topics = "${app.kafka.topic.translation-result}",
+            containerFactory = "translationBatchListenerContainerFactory")
+    public void onTranslationResults(List<ConsumerRecord<String, String>> records) {
+        // Later results for the same document win, as they would with one PATCH each
+        Map<Long, String> titlesByDocumentId = new LinkedHashMap<>();
+        Map<Long, ConsumerRecord<String, String>> sourceRecords = new LinkedHashMap<>();
+        List<Rejected> rejected = new ArrayList<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            TranslationResultDto result = parse(record.value());
+            Long documentId = result == null ? null : parseDocumentId(result.getDocId());
+            String title = result == null ? null : result.getTranslatedTitle();
+            if (documentId == null || title == null || title.isBlank()) {
+                rejected.add(new Rejected(record, "Malformed translation result"));
+            } else if (title.length() > MAX_TITLE_LENGTH) {
+                rejected.add(new Rejected(record, "Translated title longer than " + MAX_TITLE_LENGTH + " characters"));
+            } else {
+                titlesByDocumentId.put(documentId, title);
+                sourceRecords.put(documentId, record);
+            }
+        }
+
+        // Dead letters are sent only once the titles are committed: if the update fails the whole
+        // batch is redelivered, and sending them first would publish each one again
+        List<Long> unknownIds = documentService.applyTranslatedTitles(titlesByDocumentId);
+        for (Long documentId : unknownIds) {
+            rejected.add(new Rejected(sourceRecords.get(documentId), "Unknown document ID " + documentId));
+        }
+        appliedCounter.increment(titlesByDocumentId.size() - unknownIds.size());
+
+        // Offsets are committed only after the dead letters are acknowledged; a failure redelivers the batch
+        CompletableFuture.allOf(rejected.stream()
+                .map(r -> deadLetter(r.record(), r.reason()))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private TranslationResultDto parse(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, TranslationResultDto.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Long parseDocumentId(String docId) {
+        try {
+            return docId == null ? null : Long.valueOf(docId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Rejected(ConsumerRecord<String, String> record, String reason) {}
+
+    // Same header names and encodings as Spring Kafka's DeadLetterPublishingRecoverer
+    private CompletableFuture<?> deadLetter(ConsumerRecord<String, String> record, String reason) {
+        log.warn("Sending translation result at {}-{}@{} to {}: {}",
+                record.topic(), record.partition(), record.offset(), deadLetterTopic, reason);
+        deadLetterCounter.increment();
+        ProducerRecord<String, String> deadLetter = new ProducerRecord<>(deadLetterTopic, record.key(), record.value());
+        deadLetter.headers()
+                .add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8))
+                .add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array())
+                .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array())
+                .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, reason.getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(deadLetter);
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.document_service.service;
 
+import com.example.document_service.dto.DepartmentMembershipDto;
+import com.example.document_service.dto.ReferenceDataChangedEvent;
 import com.example.document_service.exception.ResourceNotFoundException;
 import com.example.document_service.model.Department;
 import com.example.document_service.model.UserDepartmentAssignment;
 import com.example.document_service.model.UserDepartmentId;
 import com.example.document_service.repository.DepartmentRepository;
 import com.example.document_service.repository.UserDepartmentRepository;
+import com.example.document_service.security.DepartmentMembershipVerifier;
+import com.example.document_service.security.GatewayAuthenticationDetails;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.SingleFlightCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +31,9 @@ public class UserDepartmentService {
 
     private final UserDepartmentRepository userDepartmentRepository;
     private final DepartmentRepository departmentRepository; // To validate department exists
+    private final SingleFlightCache<String, DepartmentIdSet> userDepartmentCache; // See CacheConfig
+    private final DepartmentMembershipVerifier membershipVerifier; // Rejects gateway headers older than a change
+    private final KafkaProducerService kafkaProducerService; // Tells other replicas and the read application
 
     /**
      * Gets a default department ID for users who don't have any department assignments.
@@ -69,6 +80,7 @@ public class UserDepartmentService {
 
         UserDepartmentAssignment assignment = new UserDepartmentAssignment(id, department);
         userDepartmentRepository.save(assignment);
+        evictUserDepartments(userId);
         log.info("Successfully assigned user {} to department {}", userId, departmentId);
     }
 
@@ -88,34 +100,83 @@ public class UserDepartmentService {
             throw new ResourceNotFoundException("User assignment not found"); // Or just return void
         }
         userDepartmentRepository.deleteByIdUserIdAndIdDepartmentId(userId, departmentId); // Use specific delete method
+        evictUserDepartments(userId);
         log.info("Successfully unassigned user {} from department {}", userId, departmentId);
     }
 
-    @Transactional(readOnly = true)
-    public List<Long> getUserDepartmentIds(String userId) {
+    /**
+     * Returns the departments a user can access, taken from the verified gateway membership header of the
+     * current request when present, otherwise served from an in-memory cache.
+     * Not transactional on purpose: a cache hit must not borrow a connection from the pool.
+     *
+     * @param userId The user ID from the gateway headers
+     * @return The user's department IDs (empty for invalid or unauthenticated users)
+     */
+    public DepartmentIdSet getUserDepartmentIdSet(String userId) {
         // Handle potential invalid or problematic userIds
         if (userId == null || userId.isEmpty() || "anonymousUser".equals(userId) || "unauthenticated-user".equals(userId)) {
             log.debug("Cannot fetch departments for invalid or unauthenticated user: {}", userId);
-            return new ArrayList<>(); // Return empty list for invalid/anonymous users
+            return DepartmentIdSet.EMPTY; // Return empty set for invalid/anonymous users
         }
-        
+
+        return GatewayAuthenticationDetails.currentDepartmentIds(userId)
+                .orElseGet(() -> userDepartmentCache.get(userId, this::loadUserDepartmentIds));
+    }
+
+    /**
+     * Reads a user's department IDs straight from the database for the gateway's signed membership header.
+     * The stamp is taken before the read, so a header is never newer than the data it carries.
+     *
+     * @param userId The user ID to look up
+     * @return The department IDs and the time they were read
+     */
+    @Transactional(readOnly = true)
+    public DepartmentMembershipDto getDepartmentMembership(String userId) {
+        long asOf = System.currentTimeMillis();
+        return new DepartmentMembershipDto(loadUserDepartmentIds(userId).toList(), asOf);
+    }
+
+    public List<Long> getUserDepartmentIds(String userId) {
+        return getUserDepartmentIdSet(userId).toList();
+    }
+
+    private DepartmentIdSet loadUserDepartmentIds(String userId) {
         log.debug("Fetching department IDs for user {}", userId);
         List<UserDepartmentAssignment> assignments = userDepartmentRepository.findByIdUserId(userId);
-        
-        List<Long> departmentIds = assignments.stream()
+
+        DepartmentIdSet departmentIds = DepartmentIdSet.of(assignments.stream()
                 .map(assignment -> assignment.getId().getDepartmentId())
-                .collect(Collectors.toList());
-                
+                .collect(Collectors.toList()));
+
         log.debug("Found {} department assignments for user {}", departmentIds.size(), userId);
-        
+
         // If user has no assignments, log a more detailed message about this legitimate situation
         if (departmentIds.isEmpty()) {
             log.info("User {} has no department assignments. They may be new or not yet configured.", userId);
         }
-        
+
         return departmentIds;
     }
 
+    // Evict now, and again once the surrounding transaction completes, so a concurrent
+    // reader cannot re-populate the cache with the pre-commit assignments.
+    // Gateway membership headers read before either point are rejected the same way,
+    // and the committed change is broadcast so other replicas and the read application do likewise
+    private void evictUserDepartments(String userId) {
+        userDepartmentCache.invalidate(userId);
+        membershipVerifier.markChanged(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userDepartmentCache.invalidate(userId);
+                    membershipVerifier.markChanged(userId);
+                }
+            });
+        }
+        kafkaProducerService.sendReferenceDataChangedEvent(ReferenceDataChangedEvent.USER_DEPARTMENTS, userId);
+    }
+
     @Transactional(readOnly = true)
     public List<Department> getUserDepartments(String userId) {
         // Handle potential invalid or problematic userIds
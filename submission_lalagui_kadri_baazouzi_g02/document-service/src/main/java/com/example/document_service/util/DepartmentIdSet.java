@@ -0,0 +1,133 @@
+package com.example.document_service.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of department IDs backed by a primitive open-addressing hash table.
+ * Used for the per-request "can this user see this department" checks, so
+ * {@link #contains(long)} is O(1) and never boxes.
+ */
+public final class DepartmentIdSet {
+
+    public static final DepartmentIdSet EMPTY = new DepartmentIdSet(new long[0]);
+
+    private static final long FREE = 0L; // Department IDs are generated, so 0 never occurs in practice
+
+    private final long[] sortedIds; // Distinct IDs in ascending order (for iteration and IN queries)
+    private final long[] table;
+    private final int mask;
+    private final boolean containsFree;
+
+    private DepartmentIdSet(long[] sortedIds) {
+        this.sortedIds = sortedIds;
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(2, sortedIds.length) * 2 - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        boolean free = false;
+        for (long id : sortedIds) {
+            if (id == FREE) {
+                free = true;
+                continue;
+            }
+            int slot = slot(id);
+            while (table[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id;
+        }
+        this.containsFree = free;
+    }
+
+    public static DepartmentIdSet of(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return EMPTY;
+        }
+        long[] values = ids.stream()
+                .filter(id -> id != null)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        return values.length == 0 ? EMPTY : new DepartmentIdSet(values);
+    }
+
+    public static DepartmentIdSet of(long... ids) {
+        if (ids == null || ids.length == 0) {
+            return EMPTY;
+        }
+        long[] values = Arrays.stream(ids).sorted().distinct().toArray();
+        return new DepartmentIdSet(values);
+    }
+
+    public boolean contains(long id) {
+        if (id == FREE) {
+            return containsFree;
+        }
+        int slot = slot(id);
+        long current;
+        while ((current = table[slot]) != FREE) {
+            if (current == id) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean contains(Long id) {
+        return id != null && contains(id.longValue());
+    }
+
+    public int size() {
+        return sortedIds.length;
+    }
+
+    public boolean isEmpty() {
+        return sortedIds.length == 0;
+    }
+
+    /**
+     * @return a copy of the IDs in ascending order
+     */
+    public long[] toArray() {
+        return sortedIds.clone();
+    }
+
+    /**
+     * @return the IDs as an unmodifiable boxed list, e.g. for JPQL {@code IN} parameters
+     */
+    public List<Long> toList() {
+        List<Long> list = new ArrayList<>(sortedIds.length);
+        for (long id : sortedIds) {
+            list.add(id);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private int slot(long id) {
+        long h = id * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential IDs
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DepartmentIdSet that)) return false;
+        return Arrays.equals(sortedIds, that.sortedIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(sortedIds);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(sortedIds);
+    }
+}
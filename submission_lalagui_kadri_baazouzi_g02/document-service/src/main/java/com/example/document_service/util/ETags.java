@@ -0,0 +1,42 @@
+package com.example.document_service.util;
+
+import com.example.document_service.dto.DocumentVersion;
+import com.example.document_service.dto.ListingVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Strong ETag values for document reads, used with WebRequest.checkNotModified.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forDocument(DocumentVersion version) {
+        return quote(version.id() + "-" + stamp(version.updatedAt())
+                + "-" + stamp(version.categoryUpdatedAt()) + "-" + stamp(version.departmentUpdatedAt()));
+    }
+
+    /**
+     * @param scope   Identifies the listing and its filter, e.g. the user's department IDs
+     * @param version Count and latest document, category and department updates within the filter
+     * @param page    The requested page, since each page has its own content
+     */
+    public static String forListing(String scope, ListingVersion version, Pageable page) {
+        String key = scope + "|" + version.count() + "|" + stamp(version.lastUpdatedAt())
+                + "|" + stamp(version.categoriesUpdatedAt()) + "|" + stamp(version.departmentsUpdatedAt()) + "|" + page;
+        return quote(DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String stamp(Instant instant) {
+        return instant == null ? "0" : instant.getEpochSecond() + "." + instant.getNano();
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.document_service.util;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Character trie mapping string keys to document IDs, for prefix lookups.
+ * Children are kept in exactly-sized arrays sorted by character, so a node costs a few dozen
+ * bytes and a step down the trie is one binary search. Not thread-safe.
+ */
+public final class PrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+
+    // Rough per-node footprint (object header and fields plus the three array headers),
+    // used for the reported memory estimate
+    private static final long NODE_BYTES = 24 + 3 * 16;
+
+    private final Node root = new Node();
+    private long nodeCount = 1;
+    private long keyCount;
+    private long childSlots;
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        long[] ids = NO_IDS; // Documents whose key ends at this node
+    }
+
+    public void add(String key, long id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            int slot = Arrays.binarySearch(node.keys, c);
+            if (slot < 0) {
+                slot = -slot - 1;
+                Node child = new Node();
+                node.keys = insert(node.keys, slot, c);
+                node.children = insert(node.children, slot, child);
+                nodeCount++;
+                childSlots++;
+            }
+            node = node.children[slot];
+        }
+        for (long existing : node.ids) {
+            if (existing == id) {
+                return;
+            }
+        }
+        node.ids = Arrays.copyOf(node.ids, node.ids.length + 1);
+        node.ids[node.ids.length - 1] = id;
+        keyCount++;
+    }
+
+    public void remove(String key, long id) {
+        remove(root, key, 0, id);
+    }
+
+    /**
+     * Adds the IDs of keys starting with {@code prefix} to {@code out}, in key order,
+     * until {@code out} holds {@code limit} IDs.
+     */
+    public void collect(String prefix, int limit, Set<Long> out) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            int slot = Arrays.binarySearch(node.keys, prefix.charAt(i));
+            node = slot < 0 ? null : node.children[slot];
+        }
+        if (node != null) {
+            collect(node, limit, out);
+        }
+    }
+
+    public long keyCount() {
+        return keyCount;
+    }
+
+    public long nodeCount() {
+        return nodeCount;
+    }
+
+    public long estimatedBytes() {
+        return nodeCount * NODE_BYTES + childSlots * (Character.BYTES + 4) + keyCount * Long.BYTES;
+    }
+
+    private static boolean collect(Node node, int limit, Set<Long> out) {
+        for (long id : node.ids) {
+            out.add(id);
+            if (out.size() >= limit) {
+                return true;
+            }
+        }
+        for (Node child : node.children) {
+            if (collect(child, limit, out)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns true if the node became empty and can be unlinked by its parent
+    private boolean remove(Node node, String key, int depth, long id) {
+        if (depth == key.length()) {
+            int index = indexOf(node.ids, id);
+            if (index >= 0) {
+                long[] ids = new long[node.ids.length - 1];
+                System.arraycopy(node.ids, 0, ids, 0, index);
+                System.arraycopy(node.ids, index + 1, ids, index, ids.length - index);
+                node.ids = ids.length == 0 ? NO_IDS : ids;
+                keyCount--;
+            }
+        } else {
+            int slot = Arrays.binarySearch(node.keys, key.charAt(depth));
+            if (slot >= 0 && remove(node.children[slot], key, depth + 1, id)) {
+                node.keys = delete(node.keys, slot);
+                node.children = delete(node.children, slot);
+                nodeCount--;
+                childSlots--;
+            }
+        }
+        return node != root && node.ids.length == 0 && node.children.length == 0;
+    }
+
+    private static int indexOf(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static char[] insert(char[] array, int index, char value) {
+        char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Node[] insert(Node[] array, int index, Node value) {
+        Node[] result = new Node[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static char[] delete(char[] array, int index) {
+        if (array.length == 1) {
+            return NO_KEYS;
+        }
+        char[] result = new char[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static Node[] delete(Node[] array, int index) {
+        if (array.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] result = new Node[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, result.length - index);
+        return result;
+    }
+}
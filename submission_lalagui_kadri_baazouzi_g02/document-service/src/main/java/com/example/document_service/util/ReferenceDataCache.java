@@ -0,0 +1,95 @@
+package com.example.document_service.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Whole-table, read-through cache for small reference tables (categories, departments).
+ * The table is loaded as one immutable snapshot on first use and dropped by {@link #invalidate()};
+ * the next read loads it again. Readers never lock, and a load that overlaps an invalidation is
+ * discarded rather than published, so a stale snapshot cannot outlive the change that invalidated it.
+ *
+ * @param <E> Entity type; entries are shared between threads and must not be modified
+ */
+public final class ReferenceDataCache<E> {
+
+    private final Supplier<List<E>> loader;
+    private final Function<E, Long> idOf;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter loadCounter;
+    private volatile Map<Long, E> snapshot; // Null until loaded or after an invalidation
+
+    public ReferenceDataCache(String name, Supplier<List<E>> loader, Function<E, Long> idOf, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.loadCounter = Counter.builder("reference.cache.loads")
+                .tag("cache", name)
+                .description("Full reloads of a reference data cache")
+                .register(meterRegistry);
+        Gauge.builder("reference.cache.size", this, cache -> {
+                    Map<Long, E> current = cache.snapshot;
+                    return current == null ? 0 : current.size();
+                })
+                .tag("cache", name)
+                .description("Entries in a reference data cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<E> get(Long id) {
+        return Optional.ofNullable(snapshot().get(id));
+    }
+
+    // Entries in ID order
+    public Collection<E> getAll() {
+        return snapshot().values();
+    }
+
+    // Missing IDs are simply absent from the map
+    public Map<Long, E> getAll(Collection<Long> ids) {
+        Map<Long, E> current = snapshot();
+        Map<Long, E> found = new LinkedHashMap<>();
+        for (Long id : ids) {
+            E entry = current.get(id);
+            if (entry != null) {
+                found.put(id, entry);
+            }
+        }
+        return found;
+    }
+
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Map<Long, E> snapshot() {
+        Map<Long, E> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long loadGeneration = generation.get();
+        Map<Long, E> loaded = new LinkedHashMap<>();
+        loader.get().stream()
+                .sorted((a, b) -> Long.compare(idOf.apply(a), idOf.apply(b)))
+                .forEach(entry -> loaded.put(idOf.apply(entry), entry));
+        current = Collections.unmodifiableMap(loaded);
+        loadCounter.increment();
+        synchronized (this) {
+            if (generation.get() == loadGeneration) {
+                snapshot = current;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.document_service.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Caffeine cache front that collapses concurrent misses for a key into one load, like
+ * {@code Cache.get(key, loader)}, but runs the loader outside any monitor.
+ * {@code Cache.get} loads inside {@code ConcurrentHashMap.compute}, which holds a synchronized bin lock
+ * for the whole JDBC or HTTP call and so pins the carrier when the caller is a virtual thread.
+ * Waiting callers park on a {@link CompletableFuture} instead.
+ */
+public final class SingleFlightCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    public SingleFlightCache(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Returns the cached value, or loads it once for all concurrent callers.
+     * Exceptions thrown by the loader reach every waiting caller and nothing is cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            V value = loader.apply(key);
+            // Publish only if no invalidate() ran during the load; the bin lock is held just for this check
+            cache.asMap().compute(key, (k, current) -> loads.get(k) == load ? value : current);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    // Drops the entry and detaches any in-flight load, so a load that read pre-change data is not cached
+    public void invalidate(K key) {
+        loads.remove(key);
+        cache.invalidate(key);
+    }
+
+    private static <V> V join(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.document_read.controller;
+
+import com.example.document_read.service.ReactiveDocumentService;
+import com.example.document_service.dto.DocumentViewDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveDocumentControllerTest {
+
+    private static final String ETAG = "\"abc\"";
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    private final ReactiveDocumentService documentService = mock(ReactiveDocumentService.class);
+    private final ReactiveDocumentController controller = new ReactiveDocumentController(documentService);
+    private final AtomicBoolean pageQueried = new AtomicBoolean();
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedWithoutThePageQuery() {
+        when(documentService.getAllDocumentsETag(PAGE)).thenReturn(Mono.just(ETAG));
+        when(documentService.findAllDocuments(PAGE)).thenReturn(page());
+        MockServerWebExchange exchange = exchange(ETAG);
+
+        ResponseEntity<Page<DocumentViewDto>> response = controller.getAllDocuments(PAGE, exchange).block();
+
+        assertThat(response).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(pageQueried).isFalse();
+    }
+
+    @Test
+    void changedListingIsReturnedWithItsETag() {
+        when(documentService.getDocumentsForUserETag("user-1", PAGE)).thenReturn(Mono.just(ETAG));
+        when(documentService.findDocumentsForUser("user-1", PAGE)).thenReturn(page());
+
+        ResponseEntity<Page<DocumentViewDto>> response =
+                controller.getMyDocuments(PAGE, user(), exchange("\"old\"")).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(pageQueried).isTrue();
+    }
+
+    @Test
+    void departmentListingIsNotModifiedOnlyWhenAccessible() {
+        when(documentService.canAccessDepartment(eq("user-1"), anyList(), eq(1L))).thenReturn(Mono.just(true));
+        when(documentService.canAccessDepartment(eq("user-1"), anyList(), eq(2L))).thenReturn(Mono.just(false));
+        when(documentService.getDocumentsByDepartmentETag(anyLong(), any())).thenReturn(Mono.just(ETAG));
+        when(documentService.findDocumentsByDepartment(anyLong(), any())).thenReturn(page());
+        MockServerWebExchange accessible = exchange(ETAG);
+
+        assertThat(controller.getDocumentsByDepartment(1L, PAGE, user(), accessible).block()).isNull();
+        assertThat(accessible.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(controller.getDocumentsByDepartment(2L, PAGE, user(), exchange(ETAG)).block().getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(pageQueried).isFalse();
+    }
+
+    private Mono<Page<DocumentViewDto>> page() {
+        return Mono.fromSupplier(() -> {
+            pageQueried.set(true);
+            return Page.<DocumentViewDto>empty(PAGE);
+        });
+    }
+
+    private static MockServerWebExchange exchange(String ifNoneMatch) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/documents")
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+    }
+
+    private static TestingAuthenticationToken user() {
+        return new TestingAuthenticationToken("user-1", null, "ROLE_USER");
+    }
+}
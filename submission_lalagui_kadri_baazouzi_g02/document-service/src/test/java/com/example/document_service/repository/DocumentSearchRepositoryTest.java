@@ -0,0 +1,87 @@
+package com.example.document_service.repository;
+
+import com.example.document_service.dto.DocumentViewDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs on the embedded H2 database, so this covers the LIKE fallback rather than PostgreSQL full-text search
+@JdbcTest
+@Import(DocumentSearchRepository.class)
+class DocumentSearchRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DocumentSearchRepository documentSearchRepository;
+
+    // DDL commits in H2, the rows are rolled back after each test
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS categories (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS departments (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS documents (id BIGINT PRIMARY KEY, title_en VARCHAR(255), title_es VARCHAR(255)," +
+                " s3file_key VARCHAR(255), file_name VARCHAR(255), file_type VARCHAR(255), file_size BIGINT," +
+                " category_id BIGINT, department_id BIGINT, owner_user_id VARCHAR(255)," +
+                " created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Reports')");
+        jdbcTemplate.update("INSERT INTO departments (id, name) VALUES (10, 'Finance'), (20, 'Legal')");
+        document(1, 10, "Annual budget", "Presupuesto anual", 1);
+        document(2, 10, "Budget review", null, 2);
+        document(3, 20, "Contract template", "Plantilla de contrato", 3);
+        document(4, 20, "Budget_2024 notes", null, 4);
+    }
+
+    @Test
+    void matchesEitherTitleCaseInsensitivelyNewestFirst() {
+        assertThat(ids(documentSearchRepository.search("BUDGET", null, 10))).containsExactly(4L, 2L, 1L);
+        assertThat(ids(documentSearchRepository.search("plantilla", null, 10))).containsExactly(3L);
+
+        DocumentViewDto contract = documentSearchRepository.search("contract", null, 10).get(0);
+        assertThat(contract.categoryName()).isEqualTo("Reports");
+        assertThat(contract.departmentName()).isEqualTo("Legal");
+        assertThat(contract.createdAt()).isEqualTo(T0.plusSeconds(3));
+    }
+
+    @Test
+    void likeWildcardsInTheQueryAreMatchedLiterally() {
+        assertThat(ids(documentSearchRepository.search("budget_", null, 10))).containsExactly(4L);
+        assertThat(documentSearchRepository.search("%", null, 10)).isEmpty();
+    }
+
+    @Test
+    void resultsAreLimitedToTheGivenDepartments() {
+        assertThat(ids(documentSearchRepository.search("budget", List.of(10L), 10))).containsExactly(2L, 1L);
+        assertThat(ids(documentSearchRepository.search("budget", List.of(20L, 30L), 10))).containsExactly(4L);
+        assertThat(documentSearchRepository.search("budget", List.of(), 10)).isEmpty();
+    }
+
+    @Test
+    void resultsAreLimited() {
+        assertThat(ids(documentSearchRepository.search("budget", null, 2))).containsExactly(4L, 2L);
+    }
+
+    private void document(long id, long departmentId, String titleEn, String titleEs, long createdSecond) {
+        Timestamp createdAt = Timestamp.from(T0.plusSeconds(createdSecond));
+        jdbcTemplate.update("INSERT INTO documents (id, title_en, title_es, s3file_key, file_name, file_type, file_size," +
+                        " category_id, department_id, owner_user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 1, ?, ?, ?, ?)",
+                id, titleEn, titleEs, "key-" + id, "file-" + id + ".pdf", "application/pdf", 100L,
+                departmentId, "user-1", createdAt, createdAt);
+    }
+
+    private static List<Long> ids(List<DocumentViewDto> documents) {
+        return documents.stream().map(DocumentViewDto::id).toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.document_service.security;
+
+import com.example.document_service.util.DepartmentIdSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentMembershipVerifierTest {
+
+    private static final String SECRET = "test-membership-secret";
+    // Produced by the gateway's DepartmentMembershipCodec (see its test): user-1, stamp 1714557600000, departments 1, 3, 200
+    private static final String GATEWAY_VECTOR = "AYCC45zzMQMBAsUB.YwAJXwBLkIsJ76uF0B_ibw";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DepartmentMembershipVerifier verifier =
+            new DepartmentMembershipVerifier(SECRET, Duration.ofSeconds(60), meterRegistry);
+
+    @Test
+    void acceptsTheGatewayEncoding() {
+        DepartmentMembershipVerifier noExpiry =
+                new DepartmentMembershipVerifier(SECRET, Duration.ofDays(365_000), new SimpleMeterRegistry());
+
+        assertThat(noExpiry.verify("user-1", GATEWAY_VECTOR)).contains(DepartmentIdSet.of(1, 3, 200));
+    }
+
+    @Test
+    void roundTripsACurrentHeader() {
+        String header = encode("user-1", System.currentTimeMillis(), 2, 5, 1_000_000);
+
+        assertThat(verifier.verify("user-1", header)).contains(DepartmentIdSet.of(2, 5, 1_000_000));
+        assertThat(verifier.verify("user-1", encode("user-1", System.currentTimeMillis()))).contains(DepartmentIdSet.EMPTY);
+        assertThat(outcome("accepted")).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsAHeaderSignedForAnotherUser() {
+        String header = encode("user-2", System.currentTimeMillis(), 1);
+
+        assertThat(verifier.verify("user-1", header)).isEmpty();
+        assertThat(outcome("invalid")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String header = encode("user-1", System.currentTimeMillis(), 1);
+        String otherPayload = encode("user-1", System.currentTimeMillis(), 1, 2);
+        String tampered = otherPayload.substring(0, otherPayload.indexOf('.')) + header.substring(header.indexOf('.'));
+
+        assertThat(verifier.verify("user-1", tampered)).isEmpty();
+        assertThat(verifier.verify("user-1", "not-a-header")).isEmpty();
+        assertThat(verifier.verify("user-1", "%%%.%%%")).isEmpty();
+        assertThat(outcome("invalid")).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsAnExpiredHeader() {
+        String header = encode("user-1", System.currentTimeMillis() - Duration.ofSeconds(61).toMillis(), 1);
+
+        assertThat(verifier.verify("user-1", header)).isEmpty();
+        assertThat(outcome("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAHeaderOlderThanTheLastAssignmentChange() throws InterruptedException {
+        String header = encode("user-1", System.currentTimeMillis() - 5, 1);
+        verifier.markChanged("user-1");
+
+        assertThat(verifier.verify("user-1", header)).isEmpty();
+        assertThat(outcome("stale")).isEqualTo(1);
+
+        Thread.sleep(2);
+        assertThat(verifier.verify("user-1", encode("user-1", System.currentTimeMillis(), 1))).isPresent();
+        assertThat(verifier.verify("user-2", encode("user-2", System.currentTimeMillis() - 5, 1))).isPresent();
+    }
+
+    @Test
+    void ignoresHeadersWithoutASecret() {
+        DepartmentMembershipVerifier disabled = new DepartmentMembershipVerifier("", Duration.ofSeconds(60), meterRegistry);
+
+        assertThat(disabled.verify("user-1", encode("user-1", System.currentTimeMillis(), 1))).isEmpty();
+        assertThat(verifier.verify("user-1", null)).isEmpty();
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("document.membership.header").tag("outcome", outcome).counter().count();
+    }
+
+    // Same format as the gateway's DepartmentMembershipCodec
+    private static String encode(String userId, long stamp, long... departmentIds) {
+        long[] ids = Arrays.stream(departmentIds).sorted().distinct().toArray();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        payload.write(1);
+        writeVarint(payload, stamp);
+        writeVarint(payload, ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            writeVarint(payload, id - previous);
+            previous = id;
+        }
+        byte[] bytes = payload.toByteArray();
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        return base64.encodeToString(bytes) + "." + base64.encodeToString(mac(userId, bytes));
+    }
+
+    private static byte[] mac(String userId, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            mac.update(userId.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Arrays.copyOf(mac.doFinal(payload), 16);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
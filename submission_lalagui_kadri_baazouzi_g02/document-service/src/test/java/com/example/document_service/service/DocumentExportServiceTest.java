@@ -0,0 +1,111 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.DocumentExportFilter;
+import com.example.document_service.dto.DocumentViewDto;
+import com.example.document_service.repository.DocumentExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class DocumentExportServiceTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+    private static final DocumentExportFilter NO_FILTER = new DocumentExportFilter(null, null, null, null);
+
+    private final DocumentExportRepository repository = mock(DocumentExportRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DocumentExportService service = new DocumentExportService(repository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), objectMapper(), meterRegistry);
+
+    @Test
+    void csvQuotesCommasQuotesAndNewlines() {
+        rows(document(1L, "Plain", null), document(2L, "Budget, \"final\"\nv2", "Línea\r\nsegunda"));
+
+        assertThat(export(DocumentExportService.Format.CSV)).isEqualTo(
+                "id,titleEn,titleEs,s3FileKey,fileName,fileType,fileSize,categoryName,departmentName,ownerUserId,createdAt,updatedAt\n" +
+                "1,Plain,,key-1,file.pdf,application/pdf,100,Reports,Finance,user-1,2024-05-01T10:00:00Z,2024-05-01T10:00:00Z\n" +
+                "2,\"Budget, \"\"final\"\"\nv2\",\"Línea\r\nsegunda\",key-2,file.pdf,application/pdf,100,Reports,Finance,user-1," +
+                "2024-05-01T10:00:00Z,2024-05-01T10:00:00Z\n");
+        assertThat(meterRegistry.get("document.export.rows").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ndjsonEscapesQuotesAndNewlinesWithinTheLine() {
+        rows(document(2L, "Budget, \"final\"\nv2", null));
+
+        assertThat(export(DocumentExportService.Format.NDJSON)).isEqualTo(
+                "{\"id\":2,\"titleEn\":\"Budget, \\\"final\\\"\\nv2\",\"titleEs\":null,\"s3FileKey\":\"key-2\"," +
+                "\"fileName\":\"file.pdf\",\"fileType\":\"application/pdf\",\"fileSize\":100,\"categoryName\":\"Reports\"," +
+                "\"departmentName\":\"Finance\",\"ownerUserId\":\"user-1\",\"createdAt\":\"2024-05-01T10:00:00Z\"," +
+                "\"updatedAt\":\"2024-05-01T10:00:00Z\"}\n");
+    }
+
+    @Test
+    void ndjsonRowsAreSeparatedByNewlinesOnly() {
+        rows(document(1L, "First", null), document(2L, "Second", "Segundo"));
+
+        assertThat(export(DocumentExportService.Format.NDJSON)).isEqualTo(
+                "{\"id\":1,\"titleEn\":\"First\",\"titleEs\":null,\"s3FileKey\":\"key-1\",\"fileName\":\"file.pdf\"," +
+                "\"fileType\":\"application/pdf\",\"fileSize\":100,\"categoryName\":\"Reports\",\"departmentName\":\"Finance\"," +
+                "\"ownerUserId\":\"user-1\",\"createdAt\":\"2024-05-01T10:00:00Z\",\"updatedAt\":\"2024-05-01T10:00:00Z\"}\n" +
+                "{\"id\":2,\"titleEn\":\"Second\",\"titleEs\":\"Segundo\",\"s3FileKey\":\"key-2\",\"fileName\":\"file.pdf\"," +
+                "\"fileType\":\"application/pdf\",\"fileSize\":100,\"categoryName\":\"Reports\",\"departmentName\":\"Finance\"," +
+                "\"ownerUserId\":\"user-1\",\"createdAt\":\"2024-05-01T10:00:00Z\",\"updatedAt\":\"2024-05-01T10:00:00Z\"}\n");
+    }
+
+    @Test
+    void emptyExportHasOnlyTheCsvHeader() {
+        rows();
+
+        assertThat(export(DocumentExportService.Format.NDJSON)).isEmpty();
+        assertThat(export(DocumentExportService.Format.CSV)).isEqualTo(
+                "id,titleEn,titleEs,s3FileKey,fileName,fileType,fileSize,categoryName,departmentName,ownerUserId,createdAt,updatedAt\n");
+    }
+
+    @Test
+    void formatIsParsedCaseInsensitively() {
+        assertThat(DocumentExportService.Format.parse("csv")).isEqualTo(DocumentExportService.Format.CSV);
+        assertThat(DocumentExportService.Format.parse(" NDJSON ")).isEqualTo(DocumentExportService.Format.NDJSON);
+        assertThatThrownBy(() -> DocumentExportService.Format.parse("xml")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String export(DocumentExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(NO_FILTER, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rows(DocumentViewDto... documents) {
+        doAnswer(invocation -> {
+            List.of(documents).forEach(invocation.<Consumer<DocumentViewDto>>getArgument(1));
+            return null;
+        }).when(repository).forEach(any(), any(Consumer.class));
+    }
+
+    // Spring Boot's ObjectMapper defaults: ISO-8601 instants
+    private static ObjectMapper objectMapper() {
+        return new Jackson2ObjectMapperBuilder().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static DocumentViewDto document(Long id, String titleEn, String titleEs) {
+        return new DocumentViewDto(id, titleEn, titleEs, "key-" + id, "file.pdf", "application/pdf", 100L,
+                "Reports", "Finance", "user-1", T0, T0);
+    }
+}
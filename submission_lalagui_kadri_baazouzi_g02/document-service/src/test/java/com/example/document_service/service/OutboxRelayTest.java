@@ -0,0 +1,165 @@
+package com.example.document_service.service;
+
+import com.example.document_service.model.OutboxEvent;
+import com.example.document_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final KafkaProducerService producer = mock(KafkaProducerService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(repository, producer, new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 3);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(relay, "initialBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(relay, "maxBackoff", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void publishesInIdOrderAndDeletesAcknowledgedEvents() {
+        OutboxEvent first = event(1L, 0);
+        OutboxEvent second = event(2L, 0);
+        batches(List.of(first, second));
+        when(producer.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        InOrder order = inOrder(producer);
+        order.verify(producer).publish(first);
+        order.verify(producer).publish(second);
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    void failedAckIsRescheduledWithBackoffAndNotDeleted() {
+        OutboxEvent failing = event(1L, 0);
+        OutboxEvent acked = event(2L, 0);
+        batches(List.of(failing, acked));
+        when(producer.publish(failing)).thenReturn(CompletableFuture.failedFuture(new TimeoutException("no ack")));
+        when(producer.publish(acked)).thenReturn(CompletableFuture.completedFuture(null));
+        Instant before = Instant.now();
+
+        relay.relay();
+
+        assertThat(failing.getAttempts()).isEqualTo(1);
+        assertThat(failing.getLastError()).contains("no ack");
+        assertThat(failing.getNextAttemptAt()).isBetween(before.plusSeconds(1), Instant.now().plusSeconds(1));
+        verify(repository).reschedule(1L, 1, failing.getLastError(), failing.getNextAttemptAt());
+        verify(repository).deleteAllByIdInBatch(List.of(2L));
+        verify(repository, never()).reschedule(eq(2L), anyInt(), any(), any());
+    }
+
+    @Test
+    void backoffDoublesPerAttemptUpToTheMaximum() {
+        OutboxEvent thirdFailure = event(1L, 2);
+        OutboxEvent manyFailures = event(2L, 40);
+        batches(List.of(thirdFailure, manyFailures));
+        when(producer.publish(any())).thenReturn(CompletableFuture.failedFuture(new TimeoutException("no ack")));
+        Instant before = Instant.now();
+
+        relay.relay();
+
+        assertThat(thirdFailure.getNextAttemptAt()).isBetween(before.plusSeconds(4), Instant.now().plusSeconds(4));
+        assertThat(manyFailures.getNextAttemptAt()).isBetween(before.plusSeconds(300), Instant.now().plusSeconds(300));
+        verify(repository, never()).deleteAllByIdInBatch(anyCollection());
+    }
+
+    @Test
+    void blockingSendFailureReschedulesTheRestWithoutSending() {
+        OutboxEvent blocked = event(1L, 0);
+        OutboxEvent second = event(2L, 0);
+        OutboxEvent third = event(3L, 0);
+        batches(List.of(blocked, second, third), List.of());
+        when(producer.publish(blocked)).thenThrow(new TimeoutException("metadata not available"));
+
+        relay.relay();
+
+        verify(producer, times(1)).publish(any());
+        assertThat(List.of(blocked, second, third)).allSatisfy(event -> {
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getLastError()).contains("metadata not available");
+        });
+        verify(repository, times(3)).reschedule(any(), eq(1), any(), any());
+        verify(repository, never()).deleteAllByIdInBatch(anyCollection());
+    }
+
+    @Test
+    void claimedEventsAreLeasedAndSentOutsideTheTransaction() {
+        OutboxEvent event = event(1L, 0);
+        batches(List.of(event));
+        List<Instant> leaseAtSend = new ArrayList<>();
+        when(producer.publish(any())).thenAnswer(invocation -> {
+            leaseAtSend.add(invocation.<OutboxEvent>getArgument(0).getNextAttemptAt());
+            return CompletableFuture.completedFuture(null);
+        });
+        Instant before = Instant.now();
+
+        relay.relay();
+
+        // Claimed past the send timeout, so no other relay picks the event up while it is in flight
+        assertThat(leaseAtSend).singleElement().satisfies(lease -> assertThat(lease).isAfter(before.plusSeconds(5)));
+        InOrder order = inOrder(transactionManager, repository, producer);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).lockNextBatch(any(Instant.class), any(Pageable.class));
+        order.verify(transactionManager).commit(any());
+        order.verify(producer).publish(event);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).deleteAllByIdInBatch(List.of(1L));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void fullBatchesAreDrainedInTheSameRun() {
+        batches(List.of(event(1L, 0), event(2L, 0), event(3L, 0)), List.of(event(4L, 0)));
+        when(producer.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(repository).deleteAllByIdInBatch(List.of(4L));
+    }
+
+    @SafeVarargs
+    private void batches(List<OutboxEvent> first, List<OutboxEvent>... rest) {
+        when(repository.lockNextBatch(any(Instant.class), any(Pageable.class))).thenReturn(first, rest);
+    }
+
+    private static OutboxEvent event(long id, int attempts) {
+        OutboxEvent event = new OutboxEvent("topic", "key-" + id, "{}");
+        event.setId(id);
+        event.setAttempts(attempts);
+        return event;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.PresignedUrl;
+import com.example.document_service.exception.UploadTooLargeException;
+import com.example.document_service.util.SingleFlightCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class StorageServiceClientTest {
+
+    private static final MediaType MULTIPART = MediaType.parseMediaType("multipart/form-data; boundary=b");
+    private static final byte[] BODY = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private StorageServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new StorageServiceClient(restTemplate,
+                new SingleFlightCache<>(Caffeine.newBuilder().<String, PresignedUrl>build()), new SimpleMeterRegistry(), 1, false);
+        ReflectionTestUtils.setField(client, "storageServiceUrl", "http://storage");
+        ReflectionTestUtils.setField(client, "uploadChunkSize", DataSize.ofBytes(4));
+    }
+
+    @AfterEach
+    void shutdown() {
+        client.shutdown();
+    }
+
+    @Test
+    void bodyUpToTheLimitIsRelayed() {
+        server.expect(requestTo("http://storage/upload/"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().bytes(BODY))
+                .andRespond(withSuccess("{\"s3FileKey\":\"k\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(client.streamUpload(new ByteArrayInputStream(BODY), MULTIPART, -1, BODY.length).getBody())
+                .isEqualTo(Map.of("s3FileKey", "k"));
+        server.verify();
+    }
+
+    @Test
+    void chunkedBodyOverTheLimitIsAborted() {
+        assertThatThrownBy(() -> client.streamUpload(new ByteArrayInputStream(BODY), MULTIPART, -1, BODY.length - 1))
+                .isInstanceOf(UploadTooLargeException.class);
+    }
+}
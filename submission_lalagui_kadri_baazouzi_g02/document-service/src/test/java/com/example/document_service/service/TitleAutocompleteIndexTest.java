@@ -0,0 +1,74 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.TitleSuggestionDto;
+import com.example.document_service.util.DepartmentIdSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TitleAutocompleteIndexTest {
+
+    private TitleAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleAutocompleteIndex(mock(JdbcTemplate.class), mock(TransactionTemplate.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "maxDocuments", 1000);
+        ReflectionTestUtils.setField(index, "maxKeyLength", 64);
+        ReflectionTestUtils.setField(index, "ready", true); // Skip the startup build from the database
+    }
+
+    @Test
+    void suggestionsFromSeveralDepartmentsAreInTitleOrder() {
+        index.put(1, 10, "Report C", null);
+        index.put(2, 10, "Report D", null);
+        index.put(3, 20, "Report A", null);
+        index.put(4, 20, "Report B", null);
+
+        assertThat(ids(index.suggest("rep", null, 3))).containsExactly(3L, 4L, 1L);
+        assertThat(ids(index.suggest("rep", DepartmentIdSet.of(10, 20), 10))).containsExactly(3L, 4L, 1L, 2L);
+    }
+
+    @Test
+    void suggestionsAreLimitedToTheGivenDepartments() {
+        index.put(1, 10, "Report", null);
+        index.put(2, 20, "Report", null);
+
+        assertThat(ids(index.suggest("report", DepartmentIdSet.of(20), 10))).containsExactly(2L);
+        assertThat(index.suggest("report", DepartmentIdSet.EMPTY, 10)).isEmpty();
+    }
+
+    @Test
+    void spanishTitleIsMatchedAndOrderedByTheMatchingTitle() {
+        index.put(1, 10, "Annual budget", null);
+        index.put(2, 20, "Budget review", null);
+
+        index.updateTitleEs(1, "Budget anual");
+
+        List<TitleSuggestionDto> suggestions = index.suggest("budget", null, 10);
+        assertThat(ids(suggestions)).containsExactly(1L, 2L);
+        assertThat(suggestions.get(0).titleEs()).isEqualTo("Budget anual");
+    }
+
+    @Test
+    void removedDocumentIsNotSuggested() {
+        index.put(1, 10, "Report", null);
+
+        index.remove(1);
+        index.remove(1); // Applying the broadcast of the same change again is a no-op
+
+        assertThat(index.suggest("rep", null, 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<TitleSuggestionDto> suggestions) {
+        return suggestions.stream().map(TitleSuggestionDto::documentId).toList();
+    }
+}
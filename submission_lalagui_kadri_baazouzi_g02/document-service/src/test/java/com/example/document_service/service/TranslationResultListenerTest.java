@@ -0,0 +1,72 @@
+package com.example.document_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TranslationResultListenerTest {
+
+    private final DocumentService documentService = mock(DocumentService.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private TranslationResultListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new TranslationResultListener(documentService, kafkaTemplate, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(listener, "deadLetterTopic", "translation_results.DLT");
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void deadLettersAreSentAfterTheTitlesAreApplied() {
+        when(documentService.applyTranslatedTitles(anyMap())).thenReturn(List.of(2L));
+
+        listener.onTranslationResults(List.of(
+                record(0, "not json"),
+                record(1, "{\"docId\":\"1\",\"translatedTitle\":\"Informe\"}"),
+                record(2, "{\"docId\":\"2\",\"translatedTitle\":\"Contrato\"}")));
+
+        InOrder order = inOrder(documentService, kafkaTemplate);
+        order.verify(documentService).applyTranslatedTitles(Map.of(1L, "Informe", 2L, "Contrato"));
+        order.verify(kafkaTemplate).send(argThat((ProducerRecord<String, String> r) -> "not json".equals(r.value())));
+        order.verify(kafkaTemplate).send(argThat((ProducerRecord<String, String> r) -> r.value().contains("Contrato")));
+    }
+
+    @Test
+    void failedUpdateSendsNoDeadLetters() {
+        when(documentService.applyTranslatedTitles(anyMap())).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> listener.onTranslationResults(List.of(
+                record(0, "not json"),
+                record(1, "{\"docId\":\"1\",\"translatedTitle\":\"Informe\"}"))))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String value) {
+        return new ConsumerRecord<>("translation_results", 0, offset, null, value);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.document_service.service;
+
+import com.example.document_service.dto.ReferenceDataChangedEvent;
+import com.example.document_service.model.Department;
+import com.example.document_service.model.UserDepartmentAssignment;
+import com.example.document_service.model.UserDepartmentId;
+import com.example.document_service.repository.DepartmentRepository;
+import com.example.document_service.repository.UserDepartmentRepository;
+import com.example.document_service.security.DepartmentMembershipVerifier;
+import com.example.document_service.util.DepartmentIdSet;
+import com.example.document_service.util.SingleFlightCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDepartmentServiceTest {
+
+    private static final String USER = "user-1";
+
+    private final UserDepartmentRepository userDepartmentRepository = mock(UserDepartmentRepository.class);
+    private final DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+    private final SingleFlightCache<String, DepartmentIdSet> userDepartmentCache =
+            new SingleFlightCache<>(Caffeine.newBuilder().<String, DepartmentIdSet>build());
+    private UserDepartmentService service;
+
+    @BeforeEach
+    void setUp() {
+        DepartmentMembershipVerifier verifier = new DepartmentMembershipVerifier("", Duration.ofSeconds(60), new SimpleMeterRegistry());
+        service = new UserDepartmentService(userDepartmentRepository, departmentRepository, userDepartmentCache,
+                verifier, kafkaProducerService);
+        when(departmentRepository.findById(any())).thenAnswer(invocation -> Optional.of(department(invocation.getArgument(0))));
+        when(userDepartmentRepository.existsById(any())).thenReturn(false);
+        assignments(1L);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void departmentsAreLoadedOnceAndCached() {
+        assertThat(service.getUserDepartmentIdSet(USER)).isEqualTo(DepartmentIdSet.of(1L));
+        assertThat(service.getUserDepartmentIdSet(USER)).isEqualTo(DepartmentIdSet.of(1L));
+
+        verify(userDepartmentRepository, times(1)).findByIdUserId(USER);
+    }
+
+    @Test
+    void assignmentEvictsAndBroadcasts() {
+        service.getUserDepartmentIdSet(USER);
+        assignments(1L, 2L);
+
+        service.assignUserToDepartment(USER, 2L);
+
+        assertThat(service.getUserDepartmentIdSet(USER)).isEqualTo(DepartmentIdSet.of(1L, 2L));
+        verify(kafkaProducerService).sendReferenceDataChangedEvent(ReferenceDataChangedEvent.USER_DEPARTMENTS, USER);
+    }
+
+    @Test
+    void unassignmentEvictsAndBroadcasts() {
+        service.getUserDepartmentIdSet(USER);
+        when(userDepartmentRepository.existsById(new UserDepartmentId(USER, 1L))).thenReturn(true);
+        assignments();
+
+        service.unassignUserFromDepartment(USER, 1L);
+
+        assertThat(service.getUserDepartmentIdSet(USER)).isEqualTo(DepartmentIdSet.EMPTY);
+        verify(kafkaProducerService).sendReferenceDataChangedEvent(ReferenceDataChangedEvent.USER_DEPARTMENTS, USER);
+    }
+
+    @Test
+    void readBeforeCommitIsEvictedAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.assignUserToDepartment(USER, 2L);
+        // A concurrent reader still sees the pre-commit assignments and caches them
+        assertThat(service.getUserDepartmentIdSet(USER)).isEqualTo(DepartmentIdSet.of(1L));
+
+        assignments(1L, 2L);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertThat(service.getUserDepartmentIdSet(USER)).isEqualTo(DepartmentIdSet.of(1L, 2L));
+    }
+
+    private void assignments(Long... departmentIds) {
+        List<UserDepartmentAssignment> assignments = Arrays.stream(departmentIds)
+                .map(id -> new UserDepartmentAssignment(new UserDepartmentId(USER, id), department(id)))
+                .toList();
+        when(userDepartmentRepository.findByIdUserId(USER)).thenReturn(assignments);
+    }
+
+    private static Department department(Long id) {
+        Department department = new Department();
+        department.setId(id);
+        department.setName("Department " + id);
+        return department;
+    }
+}
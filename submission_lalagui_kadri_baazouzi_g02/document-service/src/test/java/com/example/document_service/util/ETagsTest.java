@@ -0,0 +1,72 @@
+package com.example.document_service.util;
+
+import com.example.document_service.dto.DocumentVersion;
+import com.example.document_service.dto.ListingVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant T1 = T0.plusMillis(1);
+
+    @Test
+    void documentETagChangesWithTheDocumentCategoryOrDepartment() {
+        String etag = ETags.forDocument(new DocumentVersion(1L, 10L, T0, T0, T0));
+
+        assertThat(ETags.forDocument(new DocumentVersion(1L, 10L, T0, T0, T0))).isEqualTo(etag);
+        assertThat(ETags.forDocument(new DocumentVersion(1L, 10L, T1, T0, T0))).isNotEqualTo(etag);
+        assertThat(ETags.forDocument(new DocumentVersion(1L, 10L, T0, T1, T0))).isNotEqualTo(etag);
+        assertThat(ETags.forDocument(new DocumentVersion(1L, 10L, T0, T0, T1))).isNotEqualTo(etag);
+        assertThat(ETags.forDocument(new DocumentVersion(2L, 10L, T0, T0, T0))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void listingETagChangesWithContentScopeAndPage() {
+        PageRequest page = PageRequest.of(0, 20);
+        ListingVersion version = new ListingVersion(5L, T0, T0, T0);
+        String etag = ETags.forListing("all", version, page);
+
+        assertThat(ETags.forListing("all", new ListingVersion(5L, T0, T0, T0), page)).isEqualTo(etag);
+        assertThat(ETags.forListing("all", new ListingVersion(4L, T0, T0, T0), page)).isNotEqualTo(etag);
+        assertThat(ETags.forListing("all", new ListingVersion(5L, T1, T0, T0), page)).isNotEqualTo(etag);
+        assertThat(ETags.forListing("all", new ListingVersion(5L, T0, T1, T0), page)).isNotEqualTo(etag);
+        assertThat(ETags.forListing("all", new ListingVersion(5L, T0, T0, T1), page)).isNotEqualTo(etag);
+        assertThat(ETags.forListing("department:1", version, page)).isNotEqualTo(etag);
+        assertThat(ETags.forListing("all", version, PageRequest.of(1, 20))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void emptyListingHasAStableETag() {
+        ListingVersion empty = new ListingVersion(0L, null, null, null);
+
+        assertThat(ETags.forListing("user:none", empty, PageRequest.of(0, 20)))
+                .isEqualTo(ETags.forListing("user:none", empty, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() {
+        String etag = ETags.forDocument(new DocumentVersion(1L, 10L, T0, T0, T0));
+
+        assertThat(notModified(etag, etag)).isTrue();
+        assertThat(notModified(etag, ETags.forDocument(new DocumentVersion(1L, 10L, T0, T1, T0)))).isFalse();
+    }
+
+    // What the controllers do with WebRequest.checkNotModified
+    private static boolean notModified(String ifNoneMatch, String currentETag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/documents/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(currentETag);
+        assertThat(response.getStatus()).isEqualTo(notModified ? 304 : 200);
+        return notModified;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.document_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    @Test
+    void collectReturnsMatchesInKeyOrder() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("report b", 2);
+        trie.add("report", 1);
+        trie.add("report a", 3);
+        trie.add("budget", 4);
+
+        assertThat(collect(trie, "rep", 10)).containsExactly(1L, 3L, 2L);
+        assertThat(collect(trie, "", 10)).containsExactly(4L, 1L, 3L, 2L);
+        assertThat(collect(trie, "x", 10)).isEmpty();
+    }
+
+    @Test
+    void collectStopsAtLimit() {
+        PrefixTrie trie = new PrefixTrie();
+        for (long id = 1; id <= 5; id++) {
+            trie.add("title " + id, id);
+        }
+
+        assertThat(collect(trie, "title", 2)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void addingTheSameKeyAndIdTwiceKeepsOneEntry() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("report", 1);
+        trie.add("report", 1);
+        trie.add("report", 2);
+
+        assertThat(trie.keyCount()).isEqualTo(2);
+        assertThat(collect(trie, "report", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void removeDropsTheIdAndPrunesEmptyNodes() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("re", 1);
+        long nodesBefore = trie.nodeCount();
+        trie.add("report", 2);
+
+        trie.remove("report", 2);
+
+        assertThat(collect(trie, "re", 10)).containsExactly(1L);
+        assertThat(trie.keyCount()).isEqualTo(1);
+        assertThat(trie.nodeCount()).isEqualTo(nodesBefore);
+    }
+
+    @Test
+    void removingAnUnknownKeyOrIdChangesNothing() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("report", 1);
+
+        trie.remove("report", 2);
+        trie.remove("rep", 1);
+        trie.remove("budget", 1);
+
+        assertThat(collect(trie, "report", 10)).containsExactly(1L);
+        assertThat(trie.keyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removingEverythingLeavesOnlyTheRoot() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("report", 1);
+        trie.add("budget", 2);
+
+        trie.remove("report", 1);
+        trie.remove("budget", 2);
+
+        assertThat(trie.keyCount()).isZero();
+        assertThat(trie.nodeCount()).isEqualTo(1);
+        assertThat(collect(trie, "", 10)).isEmpty();
+    }
+
+    private static Set<Long> collect(PrefixTrie trie, String prefix, int limit) {
+        Set<Long> ids = new LinkedHashSet<>();
+        trie.collect(prefix, limit, ids);
+        return ids;
+    }
+}
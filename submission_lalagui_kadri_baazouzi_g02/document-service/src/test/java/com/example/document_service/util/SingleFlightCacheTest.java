@@ -0,0 +1,90 @@
+package com.example.document_service.util;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    private final SingleFlightCache<String, String> cache =
+            new SingleFlightCache<>(Caffeine.newBuilder().<String, String>build());
+
+    @Test
+    void loadedValueIsCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("k", key -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get("k", key -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("k", key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "v";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("k", key -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateDuringLoadKeepsTheLoadedValueOutOfTheCache() {
+        String loaded = cache.get("k", key -> {
+            cache.invalidate(key); // The data changed while it was being read
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale"); // The caller still gets its result
+        assertThat(cache.getIfPresent("k")).isNull();
+        assertThat(cache.get("k", key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void invalidateRemovesACachedValue() {
+        cache.get("k", key -> "old");
+
+        cache.invalidate("k");
+
+        assertThat(cache.get("k", key -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void loaderFailureReachesTheCallerAndIsNotCached() {
+        assertThatThrownBy(() -> cache.get("k", key -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+
+        assertThat(cache.getIfPresent("k")).isNull();
+        assertThat(cache.get("k", key -> "v")).isEqualTo("v");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.gateway_service.util;
+
+import com.example.gateway_service.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-request JWT cost in the gateway: the former validateToken + extractAllClaims pair against the
+// single getVerifiedClaims call JwtAuthenticationFilter now makes (a cache hit after the first request)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-XX:+UseParallelGC"})
+public class JwtUtilBenchmark {
+
+    // Fixed 512-bit secret and far-future expiry so every run verifies the same token
+    private static final String SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789abcdef";
+    private static final Instant ISSUED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant EXPIRES_AT = Instant.parse("2099-01-01T00:00:00Z");
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        jwtUtil = new JwtUtil(properties);
+
+        // Same shape as the auth-service tokens: subject + "roles" claim, HS512
+        token = Jwts.builder()
+                .setClaims(Map.of("roles", List.of("ROLE_USER", "ROLE_ADMIN")))
+                .setSubject("user-42")
+                .setIssuedAt(Date.from(ISSUED_AT))
+                .setExpiration(Date.from(EXPIRES_AT))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims validateThenExtract() {
+        jwtUtil.validateToken(token);
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims getVerifiedClaimsCached() {
+        return jwtUtil.getVerifiedClaims(token);
+    }
+}
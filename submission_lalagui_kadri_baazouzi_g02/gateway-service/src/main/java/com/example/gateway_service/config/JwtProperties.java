@@ -12,4 +12,18 @@ public class JwtProperties {
     // Defaults can be added here if needed, matching header/prefix used in filter
     private String headerName = "Authorization";
     private String tokenPrefix = "Bearer ";
+    private ClaimsCache claimsCache = new ClaimsCache();
+    private Verification verification = new Verification();
+
+    @Data
+    public static class ClaimsCache {
+        private long maximumSize = 10_000; // Distinct tokens whose verified claims are kept (see JwtUtil)
+    }
+
+    @Data
+    public static class Verification {
+        private boolean offload = true; // Verify cache misses on worker threads instead of the Netty event loop
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 1_000; // Misses beyond this are rejected with 503
+    }
 }
\ No newline at end of file
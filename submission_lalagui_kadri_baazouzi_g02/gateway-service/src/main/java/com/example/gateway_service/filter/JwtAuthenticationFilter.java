@@ -1,7 +1,8 @@
 package com.example.gateway_service.filter;
 
 import com.example.gateway_service.config.JwtProperties;
-import com.example.gateway_service.util.JwtUtil;
+import com.example.gateway_service.service.DepartmentMembershipService;
+import com.example.gateway_service.service.JwtVerificationService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
@@ -19,14 +20,17 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono; // Import Mono
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    private final JwtUtil jwtUtil;
+    private final JwtVerificationService jwtVerificationService;
     private final JwtProperties jwtProperties;
+    private final DepartmentMembershipService departmentMembershipService;
     
     @Value("${app.auth.header.names.user-id}")
     private String userIdHeaderName;
@@ -34,11 +38,15 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     @Value("${app.auth.header.names.user-roles}")
     private String userRolesHeaderName;
 
+    @Value("${app.auth.header.names.user-departments}")
+    private String userDepartmentsHeaderName;
+
     // Define paths that should bypass JWT validation
     private final List<String> excludedPaths = List.of(
             "/auth/login",
             "/auth/token", // Add other paths like registration if needed
-            "/auth/signup"
+            "/auth/signup",
+            "/auth/refresh" // Authenticated by the refresh token in the body
             // Add actuator paths if exposed and should be public
             // "/actuator", "/actuator/health"
     );
@@ -69,40 +77,55 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         // 4. Extract Token
         String token = authHeader.substring(jwtProperties.getTokenPrefix().length());
 
-        // 5. Validate Token using JwtUtil
-        try {
-            if (jwtUtil.validateToken(token)) {
-                log.debug("JWT validation successful for path: {}", path);
-                
-                // Extract claims and add as headers to downstream request
-                Claims claims = jwtUtil.extractAllClaims(token);
-                String username = claims.getSubject();
-                String roles = claims.get("roles", List.class).toString();
-                
-                log.debug("Adding user headers - Username: {}, Roles: {}", username, roles);
-                
-                // Create a new request with the additional headers
-                ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                    .header(userIdHeaderName, username)
-                    .header(userRolesHeaderName, roles.replace("[", "").replace("]", "").replace(" ", ""))
-                    .build();
-                
-                // Pass the mutated request to the next filter
-                return chain.filter(exchange.mutate().request(mutatedRequest).build());
-            } else {
-                // This case might not be strictly necessary if validateToken throws exceptions
-                log.error("JWT validation returned false unexpectedly for path: {}", path);
-                return handleUnauthorized(exchange, "Invalid JWT Token");
-            }
-        } catch (JwtException e) {
-            // Catch exceptions from jwtUtil.validateToken (expired, signature, malformed)
+        // 5. Validate Token: cache hits inline, misses on the verification pool (JwtVerificationService)
+        return jwtVerificationService.verify(token)
+                .onErrorResume(e -> handleVerificationError(exchange, path, e).then(Mono.empty()))
+                .flatMap(claims -> forwardWithUserHeaders(exchange, chain, path, claims));
+    }
+
+    private Mono<Void> forwardWithUserHeaders(ServerWebExchange exchange, GatewayFilterChain chain, String path, Claims claims) {
+        log.debug("JWT validation successful for path: {}", path);
+
+        // Add claims as headers to downstream request
+        String username = claims.getSubject();
+        String roles = claims.get("roles", List.class).toString();
+
+        log.debug("Adding user headers - Username: {}, Roles: {}", username, roles);
+
+        // Signed department IDs, so document-service can authorize without looking them up
+        return departmentMembershipService.signedHeader(username, path)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(membership -> {
+                    // Create a new request with the additional headers
+                    ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
+                        .header(userIdHeaderName, username)
+                        .header(userRolesHeaderName, roles.replace("[", "").replace("]", "").replace(" ", ""))
+                        .headers(headers -> {
+                            headers.remove(userDepartmentsHeaderName); // Never forward a client-supplied value
+                            membership.ifPresent(value -> headers.set(userDepartmentsHeaderName, value));
+                        })
+                        .build();
+
+                    // Pass the mutated request to the next filter
+                    return chain.filter(exchange.mutate().request(mutatedRequest).build());
+                });
+    }
+
+    private Mono<Void> handleVerificationError(ServerWebExchange exchange, String path, Throwable e) {
+        if (e instanceof JwtException) {
+            // Expired, signature, malformed
             log.error("JWT validation failed for path {}: {}", path, e.getMessage());
             return handleUnauthorized(exchange, "JWT validation failed: " + e.getMessage());
-        } catch (Exception e) {
-             // Catch any other unexpected errors during validation
-             log.error("Unexpected error during JWT filter execution for path {}: {}", path, e.getMessage(), e);
-             return handleServerError(exchange, "Internal error during token validation");
         }
+        if (e instanceof RejectedExecutionException) {
+            // Verification queue full: shed this request rather than grow the backlog
+            log.warn("JWT verification queue full, rejecting request for path {}", path);
+            return handleServiceUnavailable(exchange);
+        }
+        // Any other unexpected errors during validation
+        log.error("Unexpected error during JWT filter execution for path {}: {}", path, e.getMessage(), e);
+        return handleServerError(exchange, "Internal error during token validation");
     }
 
     // Helper to set 401 Unauthorized response
@@ -117,6 +140,14 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         return response.setComplete(); // Simpler: just set status and complete
     }
 
+    // Helper to set 503 Service Unavailable response, so clients retry shortly
+    private Mono<Void> handleServiceUnavailable(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().add(HttpHeaders.RETRY_AFTER, "1");
+        return response.setComplete();
+    }
+
      // Helper to set 500 Internal Server Error response
     private Mono<Void> handleServerError(ServerWebExchange exchange, String message) {
          ServerHttpResponse response = exchange.getResponse();
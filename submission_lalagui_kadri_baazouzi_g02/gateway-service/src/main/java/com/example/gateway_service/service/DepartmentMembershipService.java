@@ -0,0 +1,80 @@
+package com.example.gateway_service.service;
+
+import com.example.gateway_service.util.DepartmentMembershipCodec;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Signed department-membership header values for authenticated users (see DepartmentMembershipCodec).
+ * Memberships are read from document-service and cached per user for {@code ttl}, which must stay below
+ * document-service's accepted header age. Any failure just means no header: document-service then
+ * resolves the departments itself.
+ */
+@Service
+@Slf4j
+public class DepartmentMembershipService {
+
+    private final WebClient webClient;
+    private final DepartmentMembershipCodec codec; // Null when no secret is configured (feature off)
+    private final AsyncCache<String, String> headerCache;
+    private final List<String> pathPrefixes;
+    private final Duration timeout;
+
+    public DepartmentMembershipService(WebClient.Builder webClientBuilder,
+                                       @Value("${app.auth.membership.secret:}") String secret,
+                                       @Value("${app.auth.membership.source-url}") String sourceUrl,
+                                       @Value("${app.auth.membership.path-prefixes}") List<String> pathPrefixes,
+                                       @Value("${app.auth.membership.ttl:30s}") Duration ttl,
+                                       @Value("${app.auth.membership.timeout:500ms}") Duration timeout,
+                                       @Value("${app.auth.membership.maximum-size:100000}") long maximumSize) {
+        this.webClient = webClientBuilder.baseUrl(sourceUrl).build();
+        this.codec = secret.isBlank() ? null : new DepartmentMembershipCodec(secret);
+        this.pathPrefixes = pathPrefixes;
+        this.timeout = timeout;
+        this.headerCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        if (codec == null) {
+            log.info("No app.auth.membership.secret configured; department-membership header disabled");
+        }
+    }
+
+    /**
+     * @return The header value for this user, or empty if the path does not need it or it could not be built
+     */
+    public Mono<String> signedHeader(String userId, String path) {
+        if (codec == null || pathPrefixes.stream().noneMatch(path::startsWith)) {
+            return Mono.empty();
+        }
+        // suppressCancel: the future is shared through the cache, so one cancelled request must not cancel it
+        return Mono.fromFuture(() -> headerCache.get(userId, (key, executor) -> fetchHeader(key).toFuture()), true)
+                .onErrorResume(e -> {
+                    log.warn("Could not build department-membership header for user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<String> fetchHeader(String userId) {
+        return webClient.get()
+                .uri("/internal/users/{userId}/department-membership", userId)
+                .retrieve()
+                .bodyToMono(DepartmentMembership.class)
+                .timeout(timeout)
+                .map(membership -> codec.encode(userId, membership.asOf(), membership.departmentIds()));
+    }
+
+    // Response of document-service's internal membership endpoint
+    public record DepartmentMembership(
+            List<Long> departmentIds,
+            long asOf // Epoch millis, document-service clock, taken before the read
+    ) {}
+}
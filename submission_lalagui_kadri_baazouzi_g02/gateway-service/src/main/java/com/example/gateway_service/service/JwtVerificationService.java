@@ -0,0 +1,125 @@
+package com.example.gateway_service.service;
+
+import com.example.gateway_service.config.JwtProperties;
+import com.example.gateway_service.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves verified JWT claims for JwtAuthenticationFilter without holding the Netty event loop.
+ * Cache hits return inline. Misses (HMAC-SHA512 check plus JSON parsing) run on a fixed pool with a
+ * bounded queue, so a login storm queues there instead of stalling I/O for cached-token requests.
+ * When the queue is full the returned Mono fails with RejectedExecutionException. The result is
+ * handed off to the parallel scheduler, so the rest of the filter chain never runs on (and ties up)
+ * the verification pool.
+ */
+@Service
+@Slf4j
+public class JwtVerificationService implements DisposableBean {
+
+    private final JwtUtil jwtUtil;
+    private final boolean offload;
+    private final ThreadPoolExecutor executor; // Null when verification runs inline
+    private final Scheduler scheduler;
+
+    private final Timer cachedEventLoopTimer;
+    private final Timer inlineEventLoopTimer;
+    private final Timer offloadedEventLoopTimer;
+    private final Timer queueWaitTimer;
+
+    public JwtVerificationService(JwtUtil jwtUtil, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        JwtProperties.Verification verification = jwtProperties.getVerification();
+        this.offload = verification.isOffload();
+
+        if (offload) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(
+                    verification.getThreads(), verification.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(verification.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "jwt-verify-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            this.scheduler = Schedulers.fromExecutorService(executor, "jwt-verify");
+            Gauge.builder("gateway.jwt.verification.queue", executor, e -> e.getQueue().size())
+                    .description("JWT verifications waiting for a worker thread")
+                    .register(meterRegistry);
+        } else {
+            this.executor = null;
+            this.scheduler = null;
+        }
+
+        this.cachedEventLoopTimer = eventLoopTimer(meterRegistry, "cached");
+        this.inlineEventLoopTimer = eventLoopTimer(meterRegistry, "inline");
+        this.offloadedEventLoopTimer = eventLoopTimer(meterRegistry, "offloaded");
+        this.queueWaitTimer = Timer.builder("gateway.jwt.verification.queue.wait")
+                .description("Time an offloaded JWT verification waited for a worker thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param token The bearer token, without prefix
+     * @return The verified claims; fails with JwtException for invalid tokens
+     */
+    public Mono<Claims> verify(String token) {
+        long start = System.nanoTime();
+        Claims cached = jwtUtil.getCachedClaims(token);
+        if (cached != null) {
+            cachedEventLoopTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Mono.just(cached);
+        }
+
+        if (!offload) {
+            try {
+                return Mono.just(jwtUtil.getVerifiedClaims(token));
+            } catch (JwtException e) {
+                return Mono.error(e);
+            } finally {
+                inlineEventLoopTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        offloadedEventLoopTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Mono.defer(() -> {
+                    long submitted = System.nanoTime();
+                    return Mono.fromCallable(() -> {
+                        queueWaitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                        return jwtUtil.getVerifiedClaims(token); // Re-checks the cache: an earlier request may have filled it
+                    }).subscribeOn(scheduler);
+                })
+                .publishOn(Schedulers.parallel()); // Only getVerifiedClaims runs on the pool
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    private static Timer eventLoopTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("gateway.jwt.event-loop.time")
+                .description("Time JWT handling spent on the calling (Netty event-loop) thread")
+                .tag("path", path) // cached, inline (verified on the event loop) or offloaded (handed to the pool)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
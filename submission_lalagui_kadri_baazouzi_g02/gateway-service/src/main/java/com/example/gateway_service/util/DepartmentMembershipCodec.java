@@ -0,0 +1,81 @@
+package com.example.gateway_service.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Builds the signed department-membership header verified by document-service (DepartmentMembershipVerifier there).
+ * <p>
+ * Value: {@code base64url(payload) "." base64url(mac)}. The payload is a format version byte, then as unsigned
+ * varints the version stamp (document-service clock, epoch millis, when the membership was read), the number of
+ * departments and the ascending department IDs as deltas. The MAC is HMAC-SHA256 over the user ID, a zero byte and
+ * the payload, truncated to 16 bytes, so a header cannot be replayed for another user.
+ */
+public final class DepartmentMembershipCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 16;
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final Mac prototype; // Cloned per call; Mac instances are not thread-safe
+
+    public DepartmentMembershipCodec(String secret) {
+        try {
+            prototype = Mac.getInstance(HMAC_ALGORITHM);
+            prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    public String encode(String userId, long versionStamp, Collection<Long> departmentIds) {
+        long[] ids = departmentIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(4 + ids.length * 2);
+        payload.write(FORMAT_VERSION);
+        writeVarint(payload, versionStamp);
+        writeVarint(payload, ids.length);
+        long previous = 0;
+        for (long id : ids) {
+            if (id <= 0) {
+                throw new IllegalArgumentException("Department IDs must be positive: " + id);
+            }
+            writeVarint(payload, id - previous);
+            previous = id;
+        }
+        byte[] payloadBytes = payload.toByteArray();
+        return BASE64.encodeToString(payloadBytes) + "." + BASE64.encodeToString(mac(userId, payloadBytes));
+    }
+
+    private byte[] mac(String userId, byte[] payload) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " provider does not support clone", e);
+        }
+        mac.update(userId.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        byte[] full = mac.doFinal(payload);
+        byte[] truncated = new byte[MAC_LENGTH];
+        System.arraycopy(full, 0, truncated, 0, MAC_LENGTH);
+        return truncated;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative varint: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
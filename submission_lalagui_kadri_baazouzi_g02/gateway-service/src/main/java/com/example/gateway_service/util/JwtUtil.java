@@ -1,27 +1,47 @@
 package com.example.gateway_service.util;
 
 import com.example.gateway_service.config.JwtProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
-    private final JwtProperties jwtProperties;
+    private final JwtParser parser; // Thread-safe; built once with the signing key
+    private final MessageDigest tokenDigest; // Prototype, cloned per lookup
+    private final Cache<ByteBuffer, VerifiedClaims> claimsCache; // SHA-256 of the token -> verified claims
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(JwtProperties jwtProperties) {
+        SecretKey signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        try {
+            this.tokenDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCache().getMaximumSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     /**
@@ -33,10 +53,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) throws JwtException {
          try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token); // This validates signature and expiration
+            parser.parseClaimsJws(token); // This validates signature and expiration
             return true;
         } catch (JwtException e) {
              log.warn("JWT validation failed: {}", e.getMessage());
@@ -55,13 +72,85 @@ public class JwtUtil {
      */
      public Claims extractAllClaims(String token) {
          // This assumes the token is already validated or validation is handled by caller
-         return Jwts.parserBuilder()
-                 .setSigningKey(getSigningKey())
-                 .build()
-                 .parseClaimsJws(token)
-                 .getBody();
+         return parser.parseClaimsJws(token).getBody();
      }
 
-    // Add methods to extract specific claims like username if needed later
-    // public String extractUsername(String token) { ... }
-}
\ No newline at end of file
+    /**
+     * Validates the token and returns its claims, in one parse. Verified claims are cached until the
+     * token's {@code exp}, so a token seen before costs one SHA-256 and no signature check or JSON parsing.
+     * Tokens without {@code exp} and invalid tokens are never cached.
+     *
+     * @param token The JWT token string.
+     * @return The verified claims; shared between requests, so callers must not modify them.
+     * @throws JwtException if the token is expired, malformed or its signature is invalid
+     */
+    public Claims getVerifiedClaims(String token) throws JwtException {
+        ByteBuffer key = hash(token);
+        VerifiedClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.claims();
+        }
+        return verifyAndCache(key, token);
+    }
+
+    /**
+     * Cache lookup only: never verifies, so it is cheap enough for the event loop.
+     *
+     * @param token The JWT token string.
+     * @return The cached verified claims, or null if the token still has to be verified
+     */
+    public Claims getCachedClaims(String token) {
+        VerifiedClaims cached = claimsCache.getIfPresent(hash(token));
+        return cached != null ? cached.claims() : null;
+    }
+
+    private Claims verifyAndCache(ByteBuffer key, String token) throws JwtException {
+        Claims claims = verify(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            claimsCache.put(key, new VerifiedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    private Claims verify(String token) throws JwtException {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException e) {
+            log.warn("JWT validation failed: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private ByteBuffer hash(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) tokenDigest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 provider does not support clone", e);
+        }
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII))); // Compact JWS is ASCII
+    }
+
+    private record VerifiedClaims(Claims claims, long expiresAtMillis) {}
+
+    // Each entry lives exactly until its token expires, so the cache never outlives a token's validity
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedClaims value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedClaims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
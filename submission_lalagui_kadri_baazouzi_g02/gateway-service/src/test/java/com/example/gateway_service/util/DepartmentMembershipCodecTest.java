@@ -0,0 +1,77 @@
+package com.example.gateway_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DepartmentMembershipCodecTest {
+
+    // Also verified by document-service's DepartmentMembershipVerifierTest; both sides must agree
+    private static final String SECRET = "test-membership-secret";
+    private static final String VECTOR = "AYCC45zzMQMBAsUB.YwAJXwBLkIsJ76uF0B_ibw"; // user-1, stamp 1714557600000, departments 1, 3, 200
+
+    private final DepartmentMembershipCodec codec = new DepartmentMembershipCodec(SECRET);
+
+    @Test
+    void encodesTheFormatDocumentServiceVerifies() {
+        assertThat(codec.encode("user-1", 1714557600000L, List.of(200L, 3L, 1L))).isEqualTo(VECTOR);
+    }
+
+    @Test
+    void payloadHoldsVersionStampAndSortedDistinctIds() {
+        String header = codec.encode("user-1", 1714557600000L, List.of(200L, 3L, 1L, 3L));
+
+        ByteBuffer payload = ByteBuffer.wrap(Base64.getUrlDecoder().decode(header.substring(0, header.indexOf('.'))));
+        assertThat(payload.get()).isEqualTo((byte) DepartmentMembershipCodec.FORMAT_VERSION);
+        assertThat(readVarint(payload)).isEqualTo(1714557600000L);
+        long count = readVarint(payload);
+        List<Long> ids = new ArrayList<>();
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readVarint(payload);
+            ids.add(previous);
+        }
+        assertThat(ids).containsExactly(1L, 3L, 200L);
+        assertThat(payload.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void macIsBoundToUserAndSecret() {
+        String header = codec.encode("user-1", 1714557600000L, List.of(1L));
+
+        assertThat(codec.encode("user-2", 1714557600000L, List.of(1L))).isNotEqualTo(header);
+        assertThat(new DepartmentMembershipCodec("other-secret").encode("user-1", 1714557600000L, List.of(1L)))
+                .isNotEqualTo(header);
+    }
+
+    @Test
+    void emptyMembershipIsEncoded() {
+        String header = codec.encode("user-1", 1714557600000L, List.of());
+
+        byte[] payload = Base64.getUrlDecoder().decode(header.substring(0, header.indexOf('.')));
+        assertThat(payload[payload.length - 1]).isZero(); // Count 0, no IDs
+    }
+
+    @Test
+    void nonPositiveDepartmentIdIsRejected() {
+        assertThatThrownBy(() -> codec.encode("user-1", 1714557600000L, List.of(0L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.gateway_service.util;
+
+import com.example.gateway_service.config.JwtProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256-signing";
+
+    private final JwtUtil jwtUtil = new JwtUtil(properties(SECRET));
+
+    @Test
+    void verifiedClaimsAreCachedUntilTheTokenExpires() throws InterruptedException {
+        String token = token(SECRET, new Date(System.currentTimeMillis() + 2_000)); // exp has second precision
+
+        Claims claims = jwtUtil.getVerifiedClaims(token);
+        assertThat(jwtUtil.getVerifiedClaims(token)).isSameAs(claims);
+        assertThat(cachedTokens()).isEqualTo(1);
+
+        Thread.sleep(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()) + 100);
+
+        assertThat(cachedTokens()).isZero();
+        assertThatThrownBy(() -> jwtUtil.getVerifiedClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tokenWithoutExpirationIsVerifiedEveryTime() {
+        String token = token(SECRET, null);
+
+        Claims claims = jwtUtil.getVerifiedClaims(token);
+
+        assertThat(claims.getSubject()).isEqualTo("user-1");
+        assertThat(jwtUtil.getVerifiedClaims(token)).isNotSameAs(claims);
+        assertThat(cachedTokens()).isZero();
+    }
+
+    @Test
+    void invalidTokensAreNotCached() {
+        String forged = token("another-secret-that-is-long-enough-for-hs256", new Date(System.currentTimeMillis() + 60_000));
+        String expired = token(SECRET, new Date(System.currentTimeMillis() - 1_000));
+
+        assertThatThrownBy(() -> jwtUtil.getVerifiedClaims(forged)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtil.getVerifiedClaims(forged)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtil.getVerifiedClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(cachedTokens()).isZero();
+    }
+
+    private long cachedTokens() {
+        Cache<?, ?> cache = (Cache<?, ?>) ReflectionTestUtils.getField(jwtUtil, "claimsCache");
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String token(String secret, Date expiration) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject("user-1")
+                .claim("roles", "ROLE_USER")
+                .setIssuedAt(new Date())
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+        if (expiration != null) {
+            builder.setExpiration(expiration);
+        }
+        return builder.compact();
+    }
+
+    private static JwtProperties properties(String secret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        return properties;
+    }
+}